@@ -0,0 +1,343 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * This annotation processor generates AIXM mapper classes for fields
+ * annotated with {@code com.github.chrisblutz.jetway.aixm.AIXMAttribute}.
+ * <p>
+ * For each class containing annotated fields, a package-private
+ * {@code <Class>AIXMMapper} class is generated in the same package.
+ * Each path is compiled once into a {@code static final} {@code AIXMPath},
+ * and each field is assigned directly using the converter matching its type.
+ *
+ * @author Christopher Lutz
+ */
+@SupportedAnnotationTypes(AIXMMapperProcessor.ATTRIBUTE_ANNOTATION)
+public class AIXMMapperProcessor extends AbstractProcessor {
+
+    static final String ATTRIBUTE_ANNOTATION = "com.github.chrisblutz.jetway.aixm.AIXMAttribute";
+
+    private static final String AIXM_PACKAGE = "com.github.chrisblutz.jetway.aixm";
+    private static final String GEO_COORDINATE = "com.github.chrisblutz.jetway.features.positioning.GeoCoordinate";
+    private static final String MAPPER_SUFFIX = "AIXMMapper";
+
+    private static final Map<String, String> CONVERTERS = new HashMap<>();
+    private static final Map<String, String> PRIMITIVE_GETTERS = new HashMap<>();
+
+    static {
+
+        PRIMITIVE_GETTERS.put("boolean", "Boolean");
+        PRIMITIVE_GETTERS.put("double", "Double");
+        PRIMITIVE_GETTERS.put("int", "Integer");
+
+        CONVERTERS.put("boolean", "BOOLEAN_CONVERTER");
+        CONVERTERS.put("byte", "BYTE_CONVERTER");
+        CONVERTERS.put("char", "CHARACTER_CONVERTER");
+        CONVERTERS.put("double", "DOUBLE_CONVERTER");
+        CONVERTERS.put("float", "FLOAT_CONVERTER");
+        CONVERTERS.put("int", "INTEGER_CONVERTER");
+        CONVERTERS.put("long", "LONG_CONVERTER");
+        CONVERTERS.put("short", "SHORT_CONVERTER");
+        CONVERTERS.put("java.lang.Boolean", "BOOLEAN_CONVERTER");
+        CONVERTERS.put("java.lang.Byte", "BYTE_CONVERTER");
+        CONVERTERS.put("java.lang.Character", "CHARACTER_CONVERTER");
+        CONVERTERS.put("java.lang.Double", "DOUBLE_CONVERTER");
+        CONVERTERS.put("java.lang.Float", "FLOAT_CONVERTER");
+        CONVERTERS.put("java.lang.Integer", "INTEGER_CONVERTER");
+        CONVERTERS.put("java.lang.Long", "LONG_CONVERTER");
+        CONVERTERS.put("java.lang.Short", "SHORT_CONVERTER");
+        CONVERTERS.put("java.lang.String", "STRING_CONVERTER");
+        CONVERTERS.put(GEO_COORDINATE, "GEO_COORDINATE_CONVERTER");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        for (TypeElement annotation : annotations) {
+
+            Map<TypeElement, List<Mapping>> mappings = new LinkedHashMap<>();
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+
+                Mapping mapping = createMapping((VariableElement) element);
+                if (mapping != null) {
+
+                    mappings.computeIfAbsent((TypeElement) element.getEnclosingElement(), type -> new ArrayList<>()).add(mapping);
+                }
+            }
+
+            for (Map.Entry<TypeElement, List<Mapping>> entry : mappings.entrySet()) {
+
+                writeMapper(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return true;
+    }
+
+    private Mapping createMapping(VariableElement field) {
+
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+
+            error(field, "AIXM attributes must not be private, final or static.");
+            return null;
+        }
+
+        String converter = getConverter(field.asType());
+        if (converter == null) {
+
+            error(field, "No AIXM converter is available for fields of type " + field.asType() + ".");
+            return null;
+        }
+
+        Mapping mapping = new Mapping(field.getSimpleName().toString(), converter, PRIMITIVE_GETTERS.get(field.asType().toString()));
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(ATTRIBUTE_ANNOTATION)) {
+
+                continue;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+
+                String name = value.getKey().getSimpleName().toString();
+                Object contents = value.getValue().getValue();
+                switch (name) {
+
+                    case "value":
+                        mapping.path = (String) contents;
+                        break;
+
+                    case "extension":
+                        mapping.extension = (Boolean) contents;
+                        break;
+
+                    case "optional":
+                        mapping.optional = (Boolean) contents;
+                        break;
+
+                    case "inverted":
+                        mapping.inverted = (Boolean) contents;
+                        break;
+
+                    case "types":
+                        for (Object type : (List<?>) contents) {
+
+                            mapping.types.add((String) ((AnnotationValue) type).getValue());
+                        }
+                        break;
+                }
+            }
+        }
+
+        if (mapping.inverted && !mapping.converter.equals("Converters.BOOLEAN_CONVERTER")) {
+
+            error(field, "Only boolean AIXM attributes can be inverted.");
+            return null;
+        }
+
+        return mapping;
+    }
+
+    private String getConverter(TypeMirror type) {
+
+        if (type.getKind() == TypeKind.DECLARED) {
+
+            TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+            if (element.getKind() == ElementKind.ENUM) {
+
+                return "Converters.forEnum(" + element.getQualifiedName() + ".class)";
+            }
+
+            type = processingEnv.getTypeUtils().erasure(type);
+        }
+
+        String converter = CONVERTERS.get(type.toString());
+        return converter == null ? null : "Converters." + converter;
+    }
+
+    private void writeMapper(TypeElement type, List<Mapping> mappings) {
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String simpleName = type.getSimpleName() + MAPPER_SUFFIX;
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(packageName + "." + simpleName, type).openWriter())) {
+
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import " + AIXM_PACKAGE + ".AIXMFeature;");
+            out.println("import " + AIXM_PACKAGE + ".AIXMPath;");
+            out.println("import " + AIXM_PACKAGE + ".AIXMType;");
+            out.println("import " + AIXM_PACKAGE + ".Converters;");
+            out.println();
+            out.println("/**");
+            out.println(" * Loads AIXM data into {@link " + typeName + "} instances.");
+            out.println(" * <p>");
+            out.println(" * This class is generated from the AIXM attributes declared in");
+            out.println(" * {@link " + typeName + "} and should not be edited.");
+            out.println(" */");
+            out.println("final class " + simpleName + " {");
+            out.println();
+
+            Set<String> constants = new HashSet<>();
+            for (Mapping mapping : mappings) {
+
+                mapping.constant = getConstantName(mapping.field, constants);
+                out.println("    private static final AIXMPath " + mapping.constant + " = AIXMPath.compile(\"" + escape(mapping.path) + "\");");
+            }
+
+            out.println();
+            out.println("    private " + simpleName + "() {");
+            out.println();
+            out.println("    }");
+            out.println();
+            out.println("    /**");
+            out.println("     * Loads data from an {@link AIXMFeature} into the specified object.");
+            out.println("     *");
+            out.println("     * @param target  the object being loaded");
+            out.println("     * @param type    the type of feature currently being loaded");
+            out.println("     * @param feature the feature data");
+            out.println("     */");
+            out.println("    static void load(" + typeName + " target, AIXMType type, AIXMFeature feature) {");
+            out.println();
+
+            boolean typed = mappings.stream().anyMatch(mapping -> !mapping.types.isEmpty());
+            if (typed) {
+
+                out.println("        String identifier = type.getIdentifier();");
+                out.println();
+            }
+
+            boolean separate = false;
+            for (Mapping mapping : mappings) {
+
+                String indent = "        ";
+                if (separate) {
+
+                    out.println();
+                }
+
+                separate = !mapping.types.isEmpty();
+                if (separate) {
+
+                    StringJoiner condition = new StringJoiner(" || ");
+                    for (String identifier : mapping.types) {
+
+                        condition.add("identifier.equals(\"" + escape(identifier) + "\")");
+                    }
+
+                    out.println(indent + "if (" + condition + ") {");
+                    out.println();
+                    indent += "    ";
+                }
+
+                String source = mapping.extension ? "feature.extension(" + (mapping.optional ? "true" : "") + ")" : "feature";
+                String method = mapping.optional ? "checkedGet" : "get";
+                if (mapping.primitive != null) {
+
+                    // Primitive values are read without boxing
+                    out.println(indent + "target." + mapping.field + " = " + (mapping.inverted ? "!" : "") + source + "." + method + mapping.primitive + "(" + mapping.constant + ");");
+
+                } else {
+
+                    out.println(indent + "target." + mapping.field + " = " + (mapping.inverted ? "!" : "") + source + "." + method + "(" + mapping.constant + ", " + mapping.converter + ");");
+                }
+
+                if (separate) {
+
+                    out.println("        }");
+                }
+            }
+
+            out.println("    }");
+            out.println("}");
+
+        } catch (IOException e) {
+
+            error(type, "Failed to generate AIXM mapper: " + e.getMessage());
+        }
+    }
+
+    private static String getConstantName(String field, Set<String> used) {
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < field.length(); i++) {
+
+            char c = field.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && Character.isLowerCase(field.charAt(i - 1))) {
+
+                builder.append('_');
+            }
+
+            builder.append(Character.toUpperCase(c));
+        }
+
+        builder.append("_PATH");
+
+        String name = builder.toString();
+        for (int i = 2; !used.add(name); i++) {
+
+            name = builder.toString() + "_" + i;
+        }
+
+        return name;
+    }
+
+    private static String escape(String str) {
+
+        return str.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private void error(Element element, String message) {
+
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class Mapping {
+
+        private String field, converter, primitive, constant;
+        private String path;
+        private boolean extension = false, optional = false, inverted = false;
+        private List<String> types = new ArrayList<>();
+
+        private Mapping(String field, String converter, String primitive) {
+
+            this.field = field;
+            this.converter = converter;
+            this.primitive = primitive;
+        }
+    }
+}
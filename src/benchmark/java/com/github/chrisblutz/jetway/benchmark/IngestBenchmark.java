@@ -0,0 +1,261 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.benchmark;
+
+import com.github.chrisblutz.jetway.Jetway;
+import com.github.chrisblutz.jetway.aixm.AIXM;
+import com.github.chrisblutz.jetway.aixm.IngestListener;
+import com.github.chrisblutz.jetway.aixm.IngestPhase;
+import com.github.chrisblutz.jetway.aixm.IngestStatistics;
+import com.github.chrisblutz.jetway.exceptions.JetwayException;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks building Jetway's caches from a synthetic
+ * NASR file generated by {@link SyntheticNASRGenerator}.
+ * <p>
+ * Each iteration rebuilds the caches from scratch using
+ * {@link Jetway#initialize(boolean)} and reports the ingest throughput,
+ * the peak heap usage and the allocation rate.  Allocations are measured
+ * per thread, so they include the worker and cache writer threads used
+ * while ingesting, and are only available on JVMs that support thread
+ * allocation measurement.
+ * <p>
+ * Usage:
+ * <pre>
+ *     IngestBenchmark [airports] [runways per airport] [iterations]
+ * </pre>
+ *
+ * @author Christopher Lutz
+ */
+public final class IngestBenchmark {
+
+    private static final int DEFAULT_AIRPORTS = 5000;
+    private static final int DEFAULT_RUNWAYS = 2;
+    private static final int DEFAULT_ITERATIONS = 3;
+
+    private static final long SAMPLE_INTERVAL = 50;
+    private static final double MEGABYTE = 1024 * 1024;
+
+    private IngestBenchmark() {
+
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of airports, runways per airport and iterations
+     * @throws IOException     if the synthetic NASR file cannot be generated
+     * @throws JetwayException if an error occurs while building the caches
+     */
+    public static void main(String[] args) throws IOException, JetwayException {
+
+        int airports = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_AIRPORTS;
+        int runways = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RUNWAYS;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ITERATIONS;
+
+        File nasrFile = new File("synthetic-nasr-" + airports + "-" + runways + ".zip");
+        SyntheticNASRGenerator generator = new SyntheticNASRGenerator(airports, runways);
+
+        System.out.println("Generating synthetic NASR file with " + airports + " airports and " + runways + " runways per airport...");
+        long startNanos = System.nanoTime();
+        generator.generate(nasrFile);
+        System.out.println(String.format(Locale.ROOT, "Generated %s (%d members, %.1f MB) in %d ms.", nasrFile.getPath(), generator.getMemberCount(), nasrFile.length() / MEGABYTE, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+
+        IngestStatistics[] completed = new IngestStatistics[1];
+        AIXM.addIngestListener(new IngestListener() {
+
+            @Override
+            public void onCompleted(IngestStatistics statistics) {
+
+                completed[0] = statistics;
+            }
+        });
+
+        Jetway.stageNASRFile(nasrFile);
+
+        for (int i = 1; i <= iterations; i++) {
+
+            System.gc();
+            resetPeakHeap();
+
+            AllocationSampler sampler = new AllocationSampler();
+            sampler.start();
+
+            startNanos = System.nanoTime();
+            Jetway.initialize(false);
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            long allocated = sampler.finish();
+            long peakHeap = getPeakHeap();
+
+            Jetway.unload();
+
+            report(i, elapsedNanos, completed[0], peakHeap, allocated);
+        }
+    }
+
+    private static void report(int iteration, long elapsedNanos, IngestStatistics statistics, long peakHeap, long allocated) {
+
+        double seconds = elapsedNanos / 1e9;
+
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "Iteration %d: %.2f s", iteration, seconds));
+        if (statistics != null) {
+
+            System.out.println(String.format(Locale.ROOT, "    Throughput:      %.0f members/s, %.1f MB/s", statistics.getMembersPerSecond(), statistics.getBytesRead() / MEGABYTE / seconds));
+            System.out.println(String.format(Locale.ROOT, "    Entries written: %d", statistics.getEntriesWritten()));
+            for (IngestPhase phase : IngestPhase.values()) {
+
+                System.out.println(String.format(Locale.ROOT, "    %-16s %d ms", phase + ":", statistics.getPhaseTime(phase, TimeUnit.MILLISECONDS)));
+            }
+        }
+        System.out.println(String.format(Locale.ROOT, "    Peak heap:       %.1f MB", peakHeap / MEGABYTE));
+        if (allocated >= 0) {
+
+            System.out.println(String.format(Locale.ROOT, "    Allocated:       %.1f MB (%.1f MB/s)", allocated / MEGABYTE, allocated / MEGABYTE / seconds));
+
+        } else {
+
+            System.out.println("    Allocated:       unavailable on this JVM");
+        }
+    }
+
+    private static void resetPeakHeap() {
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+
+            if (pool.getType() == MemoryType.HEAP) {
+
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeap() {
+
+        // Pools peak at different times, so this is an upper bound on the peak heap usage
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+
+            if (pool.getType() == MemoryType.HEAP) {
+
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        return peak;
+    }
+
+    /**
+     * Samples the bytes allocated by every thread while ingesting.  Worker
+     * threads exit once a subscriber file is loaded, so their allocations are
+     * sampled periodically and the last sample taken for each thread is used.
+     */
+    private static final class AllocationSampler extends Thread {
+
+        private com.sun.management.ThreadMXBean threads = null;
+        private Map<Long, Long> initial = new HashMap<>();
+        private Map<Long, Long> latest = new HashMap<>();
+        private volatile boolean running = true;
+
+        private AllocationSampler() {
+
+            super("Jetway Benchmark Allocation Sampler");
+            setDaemon(true);
+
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+
+                threads = (com.sun.management.ThreadMXBean) bean;
+                threads.setThreadAllocatedMemoryEnabled(true);
+                sample(initial);
+            }
+        }
+
+        @Override
+        public void run() {
+
+            while (running && threads != null) {
+
+                sample(latest);
+
+                try {
+
+                    Thread.sleep(SAMPLE_INTERVAL);
+
+                } catch (InterruptedException e) {
+
+                    return;
+                }
+            }
+        }
+
+        private long finish() {
+
+            running = false;
+            interrupt();
+
+            try {
+
+                join();
+
+            } catch (InterruptedException e) {
+
+                Thread.currentThread().interrupt();
+            }
+
+            if (threads == null) {
+
+                return -1;
+            }
+
+            sample(latest);
+
+            long allocated = 0;
+            for (Map.Entry<Long, Long> entry : latest.entrySet()) {
+
+                allocated += entry.getValue() - initial.getOrDefault(entry.getKey(), 0L);
+            }
+
+            return allocated;
+        }
+
+        private void sample(Map<Long, Long> samples) {
+
+            long[] ids = threads.getAllThreadIds();
+            long[] allocated = threads.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+
+                if (allocated[i] >= 0) {
+
+                    samples.put(ids[i], allocated[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.benchmark;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * This class generates synthetic NASR subscription files for
+ * benchmarking.
+ * <p>
+ * The generated file has the same layout as a real NASR file: an
+ * {@code APT_AIXM.zip} file nested inside the NASR zip file, containing
+ * an {@code APT_AIXM.xml} subscriber file.  Each airport is followed by
+ * its runways, and each runway is followed by its base and reciprocal
+ * ends and their runway directions, in the same order as the FAA's
+ * subscriber files.  Values are generated from a fixed seed, so the same
+ * settings always produce the same file.
+ * <p>
+ * Only the elements that Jetway reads and the elements required by the
+ * AIXM 5.1 schema (such as each feature's {@code gml:identifier} and
+ * each time slice's {@code gml:validTime} and interpretation) are
+ * generated, so each member is valid against the schema.
+ *
+ * @author Christopher Lutz
+ */
+public class SyntheticNASRGenerator {
+
+    private static final String AIXM_DIRECTORY_LOCATION = "Additional_Data/AIXM/AIXM_5.1/XML-Subscriber-Files/";
+    private static final String APT_ZIP = "APT_AIXM.zip";
+    private static final String APT_XML = "APT_AIXM.xml";
+
+    private static final String FAA_NAMESPACE = "http://www.faa.gov/aixm5.1";
+    private static final String AIXM_NAMESPACE = "http://www.aixm.aero/schema/5.1";
+    private static final String APT_NAMESPACE = "http://www.faa.gov/aixm5.1/apt";
+    private static final String GML_NAMESPACE = "http://www.opengis.net/gml/3.2";
+    private static final String XLINK_NAMESPACE = "http://www.w3.org/1999/xlink";
+
+    private static final String EFFECTIVE_DATE = "2018-11-08T00:00:00.000-05:00";
+
+    private static final String[] FACILITY_TYPES = {"AD", "AD", "AD", "HP", "AH"};
+    private static final String[] OWNERSHIP_TYPES = {"PU", "PU", "PR", "PR", "MA", "MR", "MN", "CG"};
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private int airports;
+    private int runwaysPerAirport;
+    private long seed = 0;
+
+    /**
+     * Creates a new generator for files containing the specified
+     * number of airports and runways.
+     *
+     * @param airports          the number of airports to generate
+     * @param runwaysPerAirport the number of runways to generate for each airport
+     */
+    public SyntheticNASRGenerator(int airports, int runwaysPerAirport) {
+
+        this.airports = airports;
+        this.runwaysPerAirport = runwaysPerAirport;
+    }
+
+    /**
+     * Sets the seed used to generate values.
+     *
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the number of subscriber file members that this
+     * generator produces.
+     *
+     * @return The number of members
+     */
+    public long getMemberCount() {
+
+        // Each runway has a runway, two runway ends and two runway directions
+        return airports * (1L + runwaysPerAirport * 5L);
+    }
+
+    /**
+     * Generates a synthetic NASR file at the specified location.
+     *
+     * @param file the location of the zipped NASR file
+     * @throws IOException if the file cannot be written
+     */
+    public void generate(File file) throws IOException {
+
+        try (ZipOutputStream nasrZip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE))) {
+
+            nasrZip.putNextEntry(new ZipEntry(AIXM_DIRECTORY_LOCATION + APT_ZIP));
+
+            // Finishing (rather than closing) the inner zip file leaves the NASR zip file open
+            ZipOutputStream aptZip = new ZipOutputStream(new NonClosingOutputStream(nasrZip));
+            aptZip.putNextEntry(new ZipEntry(APT_XML));
+
+            OutputStream xml = new BufferedOutputStream(new NonClosingOutputStream(aptZip), BUFFER_SIZE);
+            try {
+
+                XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(xml, "UTF-8");
+                writeSubscriberFile(writer);
+                writer.close();
+
+            } catch (XMLStreamException e) {
+
+                throw new IOException("Failed to write synthetic subscriber file.", e);
+            }
+            xml.close();
+
+            aptZip.closeEntry();
+            aptZip.finish();
+            nasrZip.closeEntry();
+        }
+    }
+
+    private void writeSubscriberFile(XMLStreamWriter writer) throws XMLStreamException {
+
+        Random random = new Random(seed);
+
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("", "SubscriberFile", FAA_NAMESPACE);
+        writer.writeDefaultNamespace(FAA_NAMESPACE);
+        writer.writeNamespace("aixm", AIXM_NAMESPACE);
+        writer.writeNamespace("apt", APT_NAMESPACE);
+        writer.writeNamespace("gml", GML_NAMESPACE);
+        writer.writeNamespace("xlink", XLINK_NAMESPACE);
+        writer.writeAttribute("gml", GML_NAMESPACE, "id", "SUBSCRIBER_FILE_APT");
+
+        for (int airport = 1; airport <= airports; airport++) {
+
+            writeAirport(writer, random, airport);
+
+            for (int runway = 1; runway <= runwaysPerAirport; runway++) {
+
+                writeRunway(writer, random, airport, runway);
+            }
+        }
+
+        writer.writeEndElement();
+        writer.writeEndDocument();
+    }
+
+    private void writeAirport(XMLStreamWriter writer, Random random, int airport) throws XMLStreamException {
+
+        String id = String.format(Locale.ROOT, "AH_%07d", airport);
+        String designator = getDesignator(airport);
+
+        startMember(writer, "AirportHeliport", id);
+
+        writeElement(writer, AIXM_NAMESPACE, "designator", designator);
+        writeElement(writer, AIXM_NAMESPACE, "name", "SYNTHETIC AIRPORT " + airport);
+        if (designator.length() == 3) {
+
+            writeElement(writer, AIXM_NAMESPACE, "locationIndicatorICAO", getLocationIndicator(airport));
+        }
+        writeElement(writer, AIXM_NAMESPACE, "type", FACILITY_TYPES[random.nextInt(FACILITY_TYPES.length)]);
+        writeElement(writer, AIXM_NAMESPACE, "privateUse", random.nextInt(4) == 0 ? "YES" : "NO");
+        writeMeasurement(writer, AIXM_NAMESPACE, "fieldElevation", "FT", random.nextInt(90000) / 10d);
+
+        writer.writeStartElement("aixm", "ARP", AIXM_NAMESPACE);
+        writer.writeStartElement("aixm", "ElevatedPoint", AIXM_NAMESPACE);
+        writer.writeAttribute("gml", GML_NAMESPACE, "id", id + "_ARP");
+        writePosition(writer, random);
+        writer.writeEndElement();
+        writer.writeEndElement();
+
+        writer.writeStartElement("aixm", "extension", AIXM_NAMESPACE);
+        writer.writeStartElement("apt", "AirportHeliportExtension", APT_NAMESPACE);
+        writer.writeAttribute("gml", GML_NAMESPACE, "id", id + "_EXT");
+        writeElement(writer, APT_NAMESPACE, "airportSiteNumber", String.format(Locale.ROOT, "%05d.*A", airport));
+        writeElement(writer, APT_NAMESPACE, "ownershipType", OWNERSHIP_TYPES[random.nextInt(OWNERSHIP_TYPES.length)]);
+        writeMeasurement(writer, APT_NAMESPACE, "landSize", "AC", random.nextInt(20000) / 10d);
+        writeElement(writer, APT_NAMESPACE, "numberOfSingleEngineAircraft", Integer.toString(random.nextInt(200)));
+        writeElement(writer, APT_NAMESPACE, "numberOfMultiEngineAircraft", Integer.toString(random.nextInt(50)));
+        writeElement(writer, APT_NAMESPACE, "numberOfJetEngineAircraft", Integer.toString(random.nextInt(50)));
+        writeElement(writer, APT_NAMESPACE, "numberOfHelicopter", Integer.toString(random.nextInt(20)));
+        writeElement(writer, APT_NAMESPACE, "numberOfOperationalGlider", Integer.toString(random.nextInt(10)));
+        writeElement(writer, APT_NAMESPACE, "numberOfMilitaryAircraft", Integer.toString(random.nextInt(10)));
+        writeElement(writer, APT_NAMESPACE, "numberOfUltralightAircraft", Integer.toString(random.nextInt(10)));
+        writer.writeEndElement();
+        writer.writeEndElement();
+
+        endMember(writer);
+    }
+
+    private void writeRunway(XMLStreamWriter writer, Random random, int airport, int runway) throws XMLStreamException {
+
+        String suffix = String.format(Locale.ROOT, "%07d_%d", airport, runway);
+        int heading = 1 + (runway * 7 + airport) % 18;
+        String baseDesignator = String.format(Locale.ROOT, "%02d", heading);
+        String reciprocalDesignator = String.format(Locale.ROOT, "%02d", heading + 18);
+
+        startMember(writer, "Runway", "RWY_" + suffix);
+        writeElement(writer, AIXM_NAMESPACE, "designator", baseDesignator + "/" + reciprocalDesignator);
+        writeMeasurement(writer, AIXM_NAMESPACE, "lengthStrip", "FT", 1000 + random.nextInt(11000));
+        writeMeasurement(writer, AIXM_NAMESPACE, "widthStrip", "FT", 50 + random.nextInt(150));
+        writeReference(writer, "associatedAirportHeliport", String.format(Locale.ROOT, "AH_%07d", airport));
+        endMember(writer);
+
+        writeRunwayEnd(writer, random, "RWY_BASE_END_" + suffix, baseDesignator);
+        writeRunwayEnd(writer, random, "RWY_RECIPROCAL_END_" + suffix, reciprocalDesignator);
+    }
+
+    private void writeRunwayEnd(XMLStreamWriter writer, Random random, String id, String designator) throws XMLStreamException {
+
+        startMember(writer, "Runway", id);
+        writeElement(writer, AIXM_NAMESPACE, "designator", designator);
+        endMember(writer);
+
+        startMember(writer, "RunwayDirection", id.replace("RWY_", "RWY_DIRECTION_"));
+        writeElement(writer, AIXM_NAMESPACE, "designator", designator);
+        writeReference(writer, "usedRunway", id);
+
+        writer.writeStartElement("aixm", "extension", AIXM_NAMESPACE);
+        writer.writeStartElement("apt", "RunwayDirectionExtension", APT_NAMESPACE);
+        writer.writeAttribute("gml", GML_NAMESPACE, "id", id + "_EXT");
+        writer.writeStartElement("apt", "elevatedPoint", APT_NAMESPACE);
+        writer.writeStartElement("aixm", "ElevatedPoint", AIXM_NAMESPACE);
+        writer.writeAttribute("gml", GML_NAMESPACE, "id", id + "_POS");
+        writePosition(writer, random);
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndElement();
+
+        endMember(writer);
+    }
+
+    private static void startMember(XMLStreamWriter writer, String feature, String id) throws XMLStreamException {
+
+        writer.writeStartElement("", "Member", FAA_NAMESPACE);
+        writer.writeStartElement("aixm", feature, AIXM_NAMESPACE);
+        writer.writeAttribute("gml", GML_NAMESPACE, "id", id);
+
+        // Identifiers are derived from the ID, so they are the same each time a file is generated
+        writer.writeStartElement("gml", "identifier", GML_NAMESPACE);
+        writer.writeAttribute("codeSpace", "urn:uuid:");
+        writer.writeCharacters(UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8)).toString());
+        writer.writeEndElement();
+
+        writer.writeStartElement("aixm", "timeSlice", AIXM_NAMESPACE);
+        writer.writeStartElement("aixm", feature + "TimeSlice", AIXM_NAMESPACE);
+        writer.writeAttribute("gml", GML_NAMESPACE, "id", id + "_TS");
+        writer.writeStartElement("gml", "validTime", GML_NAMESPACE);
+        writeTimePeriod(writer, id + "_VT");
+        writer.writeEndElement();
+        writeElement(writer, AIXM_NAMESPACE, "interpretation", "BASELINE");
+        writeElement(writer, AIXM_NAMESPACE, "sequenceNumber", "1");
+        writeElement(writer, AIXM_NAMESPACE, "correctionNumber", "0");
+        writer.writeStartElement("aixm", "featureLifetime", AIXM_NAMESPACE);
+        writeTimePeriod(writer, id + "_LT");
+        writer.writeEndElement();
+    }
+
+    private static void writeTimePeriod(XMLStreamWriter writer, String id) throws XMLStreamException {
+
+        // Like the FAA's baseline time slices, periods start on the effective date and have no known end
+        writer.writeStartElement("gml", "TimePeriod", GML_NAMESPACE);
+        writer.writeAttribute("gml", GML_NAMESPACE, "id", id);
+        writer.writeStartElement("gml", "beginPosition", GML_NAMESPACE);
+        writer.writeCharacters(EFFECTIVE_DATE);
+        writer.writeEndElement();
+        writer.writeEmptyElement("gml", "endPosition", GML_NAMESPACE);
+        writer.writeAttribute("indeterminatePosition", "unknown");
+        writer.writeEndElement();
+    }
+
+    private static void endMember(XMLStreamWriter writer) throws XMLStreamException {
+
+        // Time slice, time slice property, feature and member
+        for (int i = 0; i < 4; i++) {
+
+            writer.writeEndElement();
+        }
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String namespace, String name, String value) throws XMLStreamException {
+
+        writer.writeStartElement(namespace.equals(AIXM_NAMESPACE) ? "aixm" : "apt", name, namespace);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    private static void writeMeasurement(XMLStreamWriter writer, String namespace, String name, String unit, double value) throws XMLStreamException {
+
+        writer.writeStartElement(namespace.equals(AIXM_NAMESPACE) ? "aixm" : "apt", name, namespace);
+        writer.writeAttribute("uom", unit);
+        writer.writeCharacters(Double.toString(value));
+        writer.writeEndElement();
+    }
+
+    private static void writeReference(XMLStreamWriter writer, String name, String id) throws XMLStreamException {
+
+        writer.writeEmptyElement("aixm", name, AIXM_NAMESPACE);
+        writer.writeAttribute("xlink", XLINK_NAMESPACE, "href", "#" + id);
+    }
+
+    private static void writePosition(XMLStreamWriter writer, Random random) throws XMLStreamException {
+
+        // Positions within the continental US, formatted as "longitude latitude"
+        double longitude = -125 + random.nextDouble() * 58;
+        double latitude = 25 + random.nextDouble() * 24;
+
+        writer.writeStartElement("gml", "pos", GML_NAMESPACE);
+        writer.writeCharacters(String.format(Locale.ROOT, "%.7f %.7f", longitude, latitude));
+        writer.writeEndElement();
+    }
+
+    private static String getDesignator(int airport) {
+
+        // Three- and four-character alphanumeric designators, like FAA location identifiers
+        StringBuilder builder = new StringBuilder();
+        int value = airport;
+        do {
+
+            builder.append(Character.toUpperCase(Character.forDigit(value % 36, 36)));
+            value /= 36;
+
+        } while (value > 0 || builder.length() < 3);
+
+        return builder.reverse().toString();
+    }
+
+    private static String getLocationIndicator(int airport) {
+
+        // ICAO location indicators can only contain letters, so these are not based on the designator
+        char[] indicator = {'K', 'A', 'A', 'A'};
+        int value = airport;
+        for (int i = indicator.length - 1; i > 0 && value > 0; i--) {
+
+            indicator[i] += value % 26;
+            value /= 26;
+        }
+
+        return new String(indicator);
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream out) {
+
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            flush();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway;
+
+import com.github.chrisblutz.jetway.caching.Cache;
+import com.github.chrisblutz.jetway.caching.CacheSource;
+import com.github.chrisblutz.jetway.caching.features.AirportCacheUtils;
+import com.github.chrisblutz.jetway.caching.features.RunwayCacheUtils;
+import com.github.chrisblutz.jetway.features.Airport;
+import com.github.chrisblutz.jetway.features.Airports;
+import com.github.chrisblutz.jetway.features.Runway;
+import com.github.chrisblutz.jetway.features.Runways;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * This class represents a single set of Jetway's cached data, built
+ * from one NASR file into its own directory.  It holds the caches for
+ * each feature type along with the persistent data registered by
+ * those caches.
+ * <p>
+ * Jetway serves queries from one dataset at a time (see
+ * {@link Jetway#getDataset()}).  A new dataset can be built while the
+ * current one keeps serving queries, and then swapped in place of it.
+ *
+ * @author Christopher Lutz
+ */
+public final class Dataset {
+
+    private static final int CACHE_VERSION = 2;
+    private static final int AIRPORT_CACHE_SIZE = 10000;
+    private static final int RUNWAY_CACHE_SIZE = 20000;
+    private static final String STALE_FILENAME = ".stale";
+
+    private File directory;
+
+    private Airports.Registry airportRegistry = new Airports.Registry();
+    private Runways.Registry runwayRegistry = new Runways.Registry();
+
+    private Cache<UUID, Airport> airportCache;
+    private Cache<UUID, Runway> runwayCache;
+
+    Dataset(File directory) {
+
+        this.directory = directory;
+
+        airportCache = new Cache<>(AIRPORT_CACHE_SIZE, AirportCacheUtils.createAirportConverter(this));
+        airportCache.setCacheVersion(CACHE_VERSION);
+        airportCache.setCacheDirectory(new File(directory, "apt"));
+
+        runwayCache = new Cache<>(RUNWAY_CACHE_SIZE, RunwayCacheUtils.createRunwayConverter(this));
+        runwayCache.setCacheVersion(CACHE_VERSION);
+        runwayCache.setCacheDirectory(new File(directory, "rwy"));
+    }
+
+    /**
+     * Gets the directory that this dataset's cache files are
+     * stored in.
+     *
+     * @return The directory of this dataset
+     */
+    public File getDirectory() {
+
+        return directory;
+    }
+
+    /**
+     * Gets the file used to record checkpoints while this dataset's
+     * caches are built, so that an interrupted build can be resumed.
+     *
+     * @return The checkpoint file
+     */
+    public File getCheckpointFile() {
+
+        return new File(directory, ".checkpoint");
+    }
+
+    /**
+     * Gets the cache that manages {@link Airport} instances and their
+     * {@link UUID} keys.
+     *
+     * @return The cache that manages {@link Airport} instances
+     */
+    public Cache<UUID, Airport> getAirportCache() {
+
+        return airportCache;
+    }
+
+    /**
+     * Gets the cache that manages {@link Runway} instances and their
+     * {@link UUID} keys.
+     *
+     * @return The cache that manages {@link Runway} instances
+     */
+    public Cache<UUID, Runway> getRunwayCache() {
+
+        return runwayCache;
+    }
+
+    /**
+     * Gets the persistent airport data registered by this dataset's
+     * airport cache.
+     *
+     * @return The airport registry
+     */
+    public Airports.Registry getAirportRegistry() {
+
+        return airportRegistry;
+    }
+
+    /**
+     * Gets the persistent runway data registered by this dataset's
+     * runway cache.
+     *
+     * @return The runway registry
+     */
+    public Runways.Registry getRunwayRegistry() {
+
+        return runwayRegistry;
+    }
+
+    void setSource(CacheSource source) {
+
+        airportCache.setSource(source);
+        runwayCache.setSource(source);
+    }
+
+    void uninitialize() {
+
+        airportCache.uninitialize();
+        runwayCache.uninitialize();
+    }
+
+    /**
+     * Marks this dataset as stale, so that its directory is removed the
+     * next time Jetway is initialized.  A dataset that has been replaced
+     * is not removed right away, since queries that started before it
+     * was replaced may still be reading its cache files.
+     *
+     * @return {@code true} if the dataset was marked, {@code false} otherwise
+     */
+    boolean markStale() {
+
+        try {
+
+            File stale = new File(directory, STALE_FILENAME);
+            return stale.exists() || stale.createNewFile();
+
+        } catch (IOException e) {
+
+            return false;
+        }
+    }
+
+    /**
+     * Determines if the dataset in the specified directory was marked
+     * as stale by {@link #markStale()}.
+     *
+     * @param directory the dataset's directory
+     * @return {@code true} if the dataset is stale, {@code false} otherwise
+     */
+    static boolean isStale(File directory) {
+
+        return new File(directory, STALE_FILENAME).exists();
+    }
+
+    /**
+     * Invalidates this dataset's caches and removes its directory.
+     *
+     * @return {@code true} if all files were removed, {@code false} otherwise
+     */
+    boolean delete() {
+
+        airportCache.invalidate();
+        runwayCache.invalidate();
+
+        File checkpoint = getCheckpointFile();
+        boolean deleted = !checkpoint.exists() || checkpoint.delete();
+
+        // Removed last, so a dataset that is only partially removed is tried again on the next startup
+        File stale = new File(directory, STALE_FILENAME);
+        deleted = deleted && (!stale.exists() || stale.delete());
+
+        File[] remaining = directory.listFiles();
+        return deleted && (remaining == null || remaining.length == 0) && (!directory.exists() || directory.delete());
+    }
+}
@@ -18,8 +18,7 @@ package com.github.chrisblutz.jetway;
 
 import com.github.chrisblutz.jetway.aixm.AIXM;
 import com.github.chrisblutz.jetway.caching.Cache;
-import com.github.chrisblutz.jetway.caching.features.AirportCacheUtils;
-import com.github.chrisblutz.jetway.caching.features.RunwayCacheUtils;
+import com.github.chrisblutz.jetway.caching.CacheSource;
 import com.github.chrisblutz.jetway.exceptions.JetwayException;
 import com.github.chrisblutz.jetway.features.Airport;
 import com.github.chrisblutz.jetway.features.Runway;
@@ -27,6 +26,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.UUID;
 
 /**
@@ -36,15 +39,15 @@ import java.util.UUID;
  */
 public final class Jetway {
 
-    private static final Cache<UUID, Airport> AIRPORT_CACHE = new Cache<>(10, AirportCacheUtils.getAirportConverter());
-    private static final Cache<UUID, Runway> RUNWAY_CACHE = new Cache<>(50, RunwayCacheUtils.getRunwayConverter());
+    private static final File JETWAY_DIRECTORY = new File(".jetway/");
+    private static final File CACHE_DIRECTORY = new File(JETWAY_DIRECTORY, "cache/");
+    private static final File DATASET_FILE = new File(JETWAY_DIRECTORY, ".dataset");
 
-    private static final File CACHE_DIRECTORY = new File(".jetway/cache/");
-    private static final File AIRPORT_CACHE_DIRECTORY = new File(CACHE_DIRECTORY, "apt");
-    private static final File RUNWAY_CACHE_DIRECTORY = new File(CACHE_DIRECTORY, "rwy");
+    private static volatile Dataset dataset = new Dataset(CACHE_DIRECTORY);
 
     private static File nasrLocation;
-    private static boolean initialized = false;
+    private static CacheSource source = null;
+    private static volatile boolean initialized = false;
 
     private static Logger logger = null;
 
@@ -55,12 +58,19 @@ public final class Jetway {
     /**
      * Sets the location of the FAA NASR subscription file (distributed as
      * a zip file).
+     * <p>
+     * Jetway's caches record the NASR file they were built from.  If
+     * existing cached data was built from a NASR file with different
+     * contents than this one, it is rebuilt when Jetway is initialized.
      *
      * @param nasrLocation The location of the zipped NASR file
      */
     public static void stageNASRFile(File nasrLocation) {
 
         Jetway.nasrLocation = nasrLocation;
+
+        source = nasrLocation != null && nasrLocation.exists() ? new CacheSource(nasrLocation) : null;
+        dataset.setSource(source);
     }
 
     /**
@@ -74,6 +84,17 @@ public final class Jetway {
         return nasrLocation;
     }
 
+    /**
+     * Gets the file used to record checkpoints while Jetway's caches
+     * are built, so that an interrupted build can be resumed.
+     *
+     * @return The checkpoint file
+     */
+    public static File getCheckpointFile() {
+
+        return dataset.getCheckpointFile();
+    }
+
     /**
      * Initializes Jetway's cache data and generates it from the NASR source
      * data if the cache is invalid or nonexistent.
@@ -97,6 +118,10 @@ public final class Jetway {
      * data will be loaded from Jetway's cached files (if they exist).  If it is
      * {@code false}, any existing cached data will be ignored and the entire cache
      * will be rebuilt from the source NASR data.
+     * <p>
+     * If a previous cache build was interrupted, the existing cached data is
+     * incomplete.  When using cached data, the build is resumed from its last
+     * checkpoint rather than restarted.
      *
      * @param useCache a {@code boolean} value indicating if Jetway should attempt
      *                 to use existing cached data or completely rebuild the cache
@@ -105,7 +130,7 @@ public final class Jetway {
      * @throws JetwayException if an error occurs while Jetway is initializing
      *                         its caches.
      */
-    public static void initialize(boolean useCache) throws JetwayException {
+    public static synchronized void initialize(boolean useCache) throws JetwayException {
 
         if (!initialized) {
 
@@ -113,49 +138,213 @@ public final class Jetway {
 
             getLogger().info("Initializing Jetway, " + (useCache ? "using cached data" : "ignoring cached data") + "...");
 
-            boolean needsInit;
-            AIRPORT_CACHE.setCacheVersion(1);
-            AIRPORT_CACHE.setCacheDirectory(AIRPORT_CACHE_DIRECTORY);
+            File datasetDirectory = loadDatasetDirectory();
+            deleteStaleDatasets(datasetDirectory);
 
-            getLogger().info("Initializing airport cache...");
-            getLogger().info("    Airport Cache Version:   " + AIRPORT_CACHE.getCacheVersion());
-            getLogger().info("    Airport Cache Directory: " + AIRPORT_CACHE.getCacheDirectory().getPath());
+            if (!datasetDirectory.equals(dataset.getDirectory())) {
 
-            needsInit = !AIRPORT_CACHE.initialize(useCache);
+                dataset = new Dataset(datasetDirectory);
+                dataset.setSource(source);
+            }
 
-            getLogger().info(needsInit ? "Airport cache is invalid or nonexistent." : "Airport cache is valid.");
+            if (initializeDataset(dataset, useCache)) {
 
-            RUNWAY_CACHE.setCacheVersion(1);
-            RUNWAY_CACHE.setCacheDirectory(RUNWAY_CACHE_DIRECTORY);
+                getLogger().info("Caching AIXM data from source...");
 
-            getLogger().info("Initializing runway cache...");
-            getLogger().info("    Runway Cache Version:   " + RUNWAY_CACHE.getCacheVersion());
-            getLogger().info("    Runway Cache Directory: " + RUNWAY_CACHE.getCacheDirectory().getPath());
+                AIXM.buildCache(dataset);
 
-            boolean runwayInit = !RUNWAY_CACHE.initialize(useCache);
+            } else if (AIXM.hasCheckpoint()) {
 
-            getLogger().info(runwayInit ? "Runway cache is invalid or nonexistent." : "Runway cache is valid.");
+                getLogger().info("Cache was not completely built, resuming from last checkpoint...");
 
-            needsInit = runwayInit || needsInit;
+                AIXM.resumeCache();
+            }
 
-            if (needsInit) {
+            getLogger().info("Initialization completed successfully.");
 
-                getLogger().info("Caching AIXM data from source...");
+        } else {
+
+            getLogger().warn("Initialization attempted when Jetway has already been initialized.");
+        }
+    }
+
+    /**
+     * Updates Jetway's cache data in place from the NASR file specified by
+     * {@link Jetway#stageNASRFile(File)}.  Only cached features that were
+     * added, changed or removed in the new NASR data are rewritten, so this
+     * is much faster than rebuilding the cache with
+     * {@link Jetway#initialize(boolean)} when moving to a new NASR cycle.
+     * <p>
+     * Jetway must already be initialized before this method is called.
+     *
+     * @throws JetwayException if Jetway has not been initialized, or if an
+     *                         error occurs while updating its caches.
+     */
+    public static synchronized void update() throws JetwayException {
+
+        if (!initialized) {
+
+            getLogger().error("Update attempted before Jetway has been initialized.");
+            throw new JetwayException("Jetway must be initialized before its caches can be updated.");
+        }
+
+        getLogger().info("Updating cached AIXM data from source...");
+
+        AIXM.updateCache();
+
+        getLogger().info("Update completed successfully.");
+    }
+
+    /**
+     * Rebuilds Jetway's cache data from the NASR file specified by
+     * {@link Jetway#stageNASRFile(File)} without interrupting queries.
+     * The new data is built into a separate {@link Dataset} in its own
+     * directory while the current dataset keeps serving queries.  Once
+     * the build is complete, the new dataset replaces the current one
+     * atomically.
+     * <p>
+     * Queries that started before the replacement finish against the
+     * previous dataset, so its cache files are kept until the next time
+     * Jetway is initialized, when they are removed.  Features loaded
+     * from the previous dataset should not be used to load linked
+     * features (i.e. the runways of an airport) after this method
+     * returns.
+     * <p>
+     * If the build fails, the current dataset remains in use.  Jetway
+     * must already be initialized before this method is called.
+     *
+     * @throws JetwayException if Jetway has not been initialized, or if an
+     *                         error occurs while building the new dataset.
+     */
+    public static synchronized void rebuild() throws JetwayException {
+
+        if (!initialized) {
+
+            getLogger().error("Rebuild attempted before Jetway has been initialized.");
+            throw new JetwayException("Jetway must be initialized before its caches can be rebuilt.");
+        }
+
+        Dataset previous = dataset;
+        Dataset next = new Dataset(new File(JETWAY_DIRECTORY, "cache-" + System.currentTimeMillis()));
+        next.setSource(source);
+
+        getLogger().info("Rebuilding cached AIXM data from source into " + next.getDirectory().getPath() + "...");
+
+        try {
+
+            initializeDataset(next, false);
+            AIXM.buildCache(next);
+
+        } catch (JetwayException | RuntimeException e) {
+
+            getLogger().info("Removing incomplete dataset in " + next.getDirectory().getPath() + "...");
+            next.delete();
+
+            throw e;
+        }
 
-                getLogger().info("Invalidating airport cache...");
-                AIRPORT_CACHE.invalidate();
+        // Record the new dataset before serving it, so it is the one found after a restart
+        saveDatasetDirectory(next.getDirectory());
+        dataset = next;
 
-                getLogger().info("Invalidating runway cache...");
-                RUNWAY_CACHE.invalidate();
+        // Queries may still be reading from the previous dataset, so it is only removed on the next startup
+        getLogger().info("Marking previous dataset in " + previous.getDirectory().getPath() + " for removal...");
+        if (!previous.markStale()) {
 
-                AIXM.buildCache();
+            getLogger().warn("Failed to mark previous dataset in " + previous.getDirectory().getPath() + " for removal.");
+        }
+
+        getLogger().info("Rebuild completed successfully.");
+    }
+
+    private static void deleteStaleDatasets(File currentDirectory) {
+
+        File[] directories = JETWAY_DIRECTORY.listFiles(File::isDirectory);
+        if (directories == null) {
+
+            return;
+        }
+
+        for (File directory : directories) {
+
+            if (!directory.equals(currentDirectory) && Dataset.isStale(directory)) {
+
+                getLogger().info("Removing stale dataset in " + directory.getPath() + "...");
+                if (!new Dataset(directory).delete()) {
+
+                    getLogger().warn("Failed to remove stale dataset in " + directory.getPath() + ".");
+                }
             }
+        }
+    }
 
-            getLogger().info("Initialization completed successfully.");
+    private static boolean initializeDataset(Dataset dataset, boolean useCache) {
 
-        } else {
+        Cache<UUID, Airport> airportCache = dataset.getAirportCache();
 
-            getLogger().warn("Initialization attempted when Jetway has already been initialized.");
+        getLogger().info("Initializing airport cache...");
+        getLogger().info("    Airport Cache Version:   " + airportCache.getCacheVersion());
+        getLogger().info("    Airport Cache Directory: " + airportCache.getCacheDirectory().getPath());
+
+        boolean needsInit = !airportCache.initialize(useCache);
+
+        getLogger().info(needsInit ? "Airport cache is invalid or nonexistent." : "Airport cache is valid.");
+
+        Cache<UUID, Runway> runwayCache = dataset.getRunwayCache();
+
+        getLogger().info("Initializing runway cache...");
+        getLogger().info("    Runway Cache Version:   " + runwayCache.getCacheVersion());
+        getLogger().info("    Runway Cache Directory: " + runwayCache.getCacheDirectory().getPath());
+
+        boolean runwayInit = !runwayCache.initialize(useCache);
+
+        getLogger().info(runwayInit ? "Runway cache is invalid or nonexistent." : "Runway cache is valid.");
+
+        needsInit = runwayInit || needsInit;
+
+        if (needsInit) {
+
+            getLogger().info("Invalidating airport cache...");
+            airportCache.invalidate();
+
+            getLogger().info("Invalidating runway cache...");
+            runwayCache.invalidate();
+        }
+
+        return needsInit;
+    }
+
+    private static File loadDatasetDirectory() throws JetwayException {
+
+        if (!DATASET_FILE.exists()) {
+
+            return CACHE_DIRECTORY;
+        }
+
+        try {
+
+            String name = new String(Files.readAllBytes(DATASET_FILE.toPath()), StandardCharsets.UTF_8).trim();
+            return name.isEmpty() ? CACHE_DIRECTORY : new File(JETWAY_DIRECTORY, name);
+
+        } catch (IOException e) {
+
+            getLogger().error("Failed to read current dataset from " + DATASET_FILE.getPath() + ".", e);
+            throw new JetwayException("Failed to read current dataset from " + DATASET_FILE.getPath() + ".", e);
+        }
+    }
+
+    private static void saveDatasetDirectory(File directory) throws JetwayException {
+
+        try {
+
+            File temporary = new File(JETWAY_DIRECTORY, DATASET_FILE.getName() + ".tmp");
+            Files.write(temporary.toPath(), directory.getName().getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary.toPath(), DATASET_FILE.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+
+            getLogger().error("Failed to record current dataset in " + DATASET_FILE.getPath() + ".", e);
+            throw new JetwayException("Failed to record current dataset in " + DATASET_FILE.getPath() + ".", e);
         }
     }
 
@@ -178,17 +367,27 @@ public final class Jetway {
      * {@link Jetway#initialize()} or {@link Jetway#initialize(boolean)}
      * before cached data can be used again.
      */
-    public static void unload() {
+    public static synchronized void unload() {
 
         Jetway.getLogger().info("Unloading Jetway...");
 
         initialized = false;
 
-        Jetway.getLogger().info("Uninitializing airport cache...");
-        AIRPORT_CACHE.uninitialize();
+        Jetway.getLogger().info("Uninitializing caches...");
+        dataset.uninitialize();
+    }
+
+    /**
+     * Gets the {@link Dataset} that Jetway is currently serving queries
+     * from.  This may be replaced by {@link Jetway#rebuild()}, so callers
+     * that need their caches and persistent data to be consistent
+     * should retrieve the dataset once and use it throughout.
+     *
+     * @return The current dataset
+     */
+    public static Dataset getDataset() {
 
-        Jetway.getLogger().info("Uninitializing runway cache...");
-        RUNWAY_CACHE.uninitialize();
+        return dataset;
     }
 
     /**
@@ -199,7 +398,7 @@ public final class Jetway {
      */
     public static Cache<UUID, Airport> getAirportCache() {
 
-        return AIRPORT_CACHE;
+        return dataset.getAirportCache();
     }
 
     /**
@@ -210,7 +409,7 @@ public final class Jetway {
      */
     public static Cache<UUID, Runway> getRunwayCache() {
 
-        return RUNWAY_CACHE;
+        return dataset.getRunwayCache();
     }
 
     private static Logger getLogger() {
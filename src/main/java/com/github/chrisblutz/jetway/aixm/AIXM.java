@@ -16,23 +16,37 @@
 
 package com.github.chrisblutz.jetway.aixm;
 
+import com.github.chrisblutz.jetway.Dataset;
 import com.github.chrisblutz.jetway.Jetway;
+import com.github.chrisblutz.jetway.aixm.io.ChunkedSubscriberFileReader;
+import com.github.chrisblutz.jetway.aixm.io.CountingInputStream;
+import com.github.chrisblutz.jetway.aixm.io.NASRArchive;
 import com.github.chrisblutz.jetway.caching.Cache;
 import com.github.chrisblutz.jetway.exceptions.JetwayException;
 import gov.faa.aixm51.SubscriberFileComponentPropertyType;
-import gov.faa.aixm51.SubscriberFileDocument;
-import javafx.util.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.xmlbeans.XmlException;
 
+import javax.xml.stream.XMLStreamException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.file.*;
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class contains the general entry-point methods for dealing
@@ -42,18 +56,21 @@ import java.util.regex.Pattern;
  */
 public final class AIXM {
 
-    private static final File TEMP_DIRECTORY = new File(".jetway/temp");
     private static final String AIXM_DIRECTORY_LOCATION = "Additional_Data/AIXM/AIXM_5.1/XML-Subscriber-Files/";
-    private static final String APT_ZIP = "APT_AIXM.zip";
-    private static final String APT_XML = "APT_AIXM.xml";
-    private static final Pattern ID_PATTERN = Pattern.compile("([a-zA-Z0-9_]+)\\[id=([a-zA-Z0-9_]+)]");
 
-    private static List<File> temporaryFiles = new ArrayList<>();
     private static Map<AIXMType, Class<? extends AIXMLoadable>> types = new HashMap<>();
     private static Map<AIXMType, Boolean> clearTypes = new HashMap<>();
     private static Map<Class<? extends AIXMLoadable>, Cache> caches = new HashMap<>();
+    private static Map<Class<? extends AIXMLoadable>, List<IngestFilter>> filters = new ConcurrentHashMap<>();
+    private static Map<SubscriberFile, MemberDispatcher> dispatchers = new LinkedHashMap<>();
+    private static Map<SubscriberFile, Set<Cache>> subscriberFileCaches = new LinkedHashMap<>();
 
-    private static Map<Class<? extends AIXMLoadable>, AIXMLoadable> existingInstances = new HashMap<>();
+    private static int workerThreads = Runtime.getRuntime().availableProcessors();
+    private static int writeQueueCapacity = 1024;
+
+    private static List<IngestListener> listeners = new CopyOnWriteArrayList<>();
+    private static long progressInterval = 1000;
+    private static int checkpointInterval = 10000;
 
     private static Logger logger = null;
 
@@ -63,8 +80,10 @@ public final class AIXM {
 
     /**
      * Builds Jetway's cache information from the source NASR file
-     * specified by {@link Jetway#stageNASRFile(File)}.  This method
-     * also empties any loaded objects from the caches at the
+     * specified by {@link Jetway#stageNASRFile(File)}.  The NASR file
+     * is opened once, and each AIXM subscriber file with registered
+     * types is loaded from it concurrently.  The caches
+     * are bulk loaded, so all features are written to files by the
      * completion of loading.  This ensures that no extraneous AIXM
      * features remain loaded; only persistent data remains in the
      * cache.
@@ -74,226 +93,543 @@ public final class AIXM {
      */
     public static void buildCache() throws JetwayException {
 
-        getLogger().info("Checking NASR file validity...");
-        checkNASRLocation();
+        buildCache(Jetway.getDataset());
+    }
 
-        getLogger().info("Defining default AIXM-Jetway type converters...");
-        Converters.defineEnumConverters();
+    /**
+     * Builds the cache information of the specified {@link Dataset} from
+     * the source NASR file specified by {@link Jetway#stageNASRFile(File)}.
+     * This is identical to {@link #buildCache()}, except that the dataset
+     * does not need to be the one Jetway is currently serving, so a new
+     * dataset can be built while the current one is in use.
+     *
+     * @param dataset the dataset to build
+     * @throws JetwayException if an error occurs while reading the AIXM
+     *                         data or building the cache information.
+     */
+    public static void buildCache(Dataset dataset) throws JetwayException {
 
-        getLogger().info("Defining default AIXM types...");
-        Types.defineTypes();
+        loadCache(dataset, false, null);
+    }
 
-        getLogger().info("Loading airport/heliport facility data...");
-        loadAirports();
+    /**
+     * Resumes a cache build that was interrupted, using the checkpoint
+     * file specified by {@link Jetway#getCheckpointFile()}.  Members that
+     * were built before the last checkpoint in each subscriber file are
+     * skipped without being converted.  The caches must already be
+     * initialized from the data written at the last checkpoint.
+     *
+     * @throws JetwayException if there is no checkpoint to resume from, or
+     *                         if an error occurs while reading the AIXM data
+     *                         or building the cache information.
+     * @see #hasCheckpoint()
+     */
+    public static void resumeCache() throws JetwayException {
 
-        getLogger().info("Removing temporary files...");
-        if (!removeTemporaryFiles()) {
+        Map<String, Long> resumeIndices = IngestCheckpoint.load(Jetway.getCheckpointFile());
+        if (resumeIndices == null) {
 
-            getLogger().warn("Failed to remove temporary files.");
+            getLogger().error("No cache build checkpoint exists to resume from.");
+            throw new JetwayException("No cache build checkpoint exists to resume from.");
         }
 
-        getLogger().info("Emptying airport cache to files...");
-        Jetway.getAirportCache().emptyAll();
+        loadCache(Jetway.getDataset(), false, resumeIndices);
     }
 
-    static void registerType(AIXMType type, Class<? extends AIXMLoadable> loadableType, Cache cache, boolean clear) {
+    /**
+     * Determines if a cache build was interrupted and left a checkpoint
+     * that it can be resumed from using {@link #resumeCache()}.
+     *
+     * @return {@code true} if a checkpoint exists, {@code false} otherwise
+     */
+    public static boolean hasCheckpoint() {
 
-        types.put(type, loadableType);
-        clearTypes.put(type, clear);
-        caches.put(loadableType, cache);
+        return IngestCheckpoint.load(Jetway.getCheckpointFile()) != null;
     }
 
-    private static void checkNASRLocation() throws JetwayException {
+    /**
+     * Gets the minimum number of members read from each subscriber
+     * file between checkpoints while building the cache.
+     *
+     * @return The checkpoint interval
+     */
+    public static int getCheckpointInterval() {
 
-        if (Jetway.getNASRFileLocation() == null) {
+        return checkpointInterval;
+    }
 
-            getLogger().error("NASR file cannot be null.");
-            throw new JetwayException("NASR data file cannot be null.");
+    /**
+     * Sets the minimum number of members read from each subscriber
+     * file between checkpoints while building the cache.  A value of
+     * {@code 0} disables checkpoints.  By default, this is 10000 members.
+     *
+     * @param checkpointInterval the checkpoint interval
+     * @throws IllegalArgumentException if {@code checkpointInterval} is negative
+     */
+    public static void setCheckpointInterval(int checkpointInterval) {
 
-        } else if (!Jetway.getNASRFileLocation().exists()) {
+        if (checkpointInterval < 0) {
 
-            getLogger().error("NASR file does not exist.");
-            throw new JetwayException("NASR file does not exist.", new FileNotFoundException(Jetway.getNASRFileLocation().getAbsolutePath()));
+            throw new IllegalArgumentException("Checkpoint interval cannot be negative.");
         }
+
+        AIXM.checkpointInterval = checkpointInterval;
     }
 
-    private static void loadAirports() throws JetwayException {
+    /**
+     * Updates Jetway's existing cache information in place from the
+     * source NASR file specified by {@link Jetway#stageNASRFile(File)}.
+     * Unlike {@link #buildCache()}, the caches are not invalidated
+     * beforehand.  Features are compared against the features that are
+     * already cached, and only features that were added or changed are
+     * rewritten.  Cached features that no longer exist in the NASR file
+     * are removed.
+     *
+     * @throws JetwayException if an error occurs while reading the AIXM
+     *                         data or updating the cache information.
+     */
+    public static void updateCache() throws JetwayException {
 
-        getLogger().info("Copying AIXM file into temporary directory...");
-        File apt = getAirportFile();
+        loadCache(Jetway.getDataset(), true, null);
+    }
 
-        try {
+    /**
+     * Registers a filter that decides which features of the specified
+     * class are kept while the cache is built or updated.  Features are
+     * only kept if every filter registered for their class keeps them.
+     * <p>
+     * Filters are not recorded in the cache, so the cache must be rebuilt
+     * after the registered filters change.
+     *
+     * @param type   the feature class to filter
+     * @param filter the filter
+     * @param <T>    the feature type
+     */
+    public static <T extends AIXMLoadable> void addIngestFilter(Class<T> type, IngestFilter<? super T> filter) {
 
-            getLogger().info("Reading AIXM file into memory using XMLBeans...");
-            SubscriberFileDocument doc = SubscriberFileDocument.Factory.parse(apt);
+        filters.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(filter);
+    }
 
-            getLogger().info("Reading " + doc.getSubscriberFile().getMemberArray().length + " AIXM members from loaded file...");
-            loadAirportMembers(doc.getSubscriberFile().getMemberArray());
+    /**
+     * Removes all filters registered with {@link #addIngestFilter(Class, IngestFilter)}.
+     */
+    public static void clearIngestFilters() {
 
-        } catch (IOException | XmlException e) {
+        filters.clear();
+    }
 
-            getLogger().error("Failed to load AIXM file.", e);
-            throw new JetwayException("Failed to load AIXM file.", e);
+    /**
+     * Registers a listener that receives progress information
+     * while the cache is built or updated.
+     *
+     * @param listener the listener to register
+     */
+    public static void addIngestListener(IngestListener listener) {
+
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addIngestListener(IngestListener)}.
+     *
+     * @param listener the listener to remove
+     */
+    public static void removeIngestListener(IngestListener listener) {
+
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets the minimum interval between progress reports sent to
+     * {@link IngestListener}s, in milliseconds.
+     *
+     * @return The progress interval
+     */
+    public static long getProgressInterval() {
+
+        return progressInterval;
+    }
+
+    /**
+     * Sets the minimum interval between progress reports sent to
+     * {@link IngestListener}s, in milliseconds.  By default, this is
+     * one second.
+     *
+     * @param progressInterval the progress interval
+     * @throws IllegalArgumentException if {@code progressInterval} is negative
+     */
+    public static void setProgressInterval(long progressInterval) {
+
+        if (progressInterval < 0) {
+
+            throw new IllegalArgumentException("Progress interval cannot be negative.");
         }
+
+        AIXM.progressInterval = progressInterval;
     }
 
-    private static File getAirportFile() throws JetwayException {
+    /**
+     * Gets the number of worker threads used to convert AIXM members
+     * while building the cache.  These are divided evenly among the
+     * subscriber files being loaded.  Each subscriber file also uses
+     * the same number of threads to parse its XML in chunks.
+     *
+     * @return The number of worker threads
+     */
+    public static int getWorkerThreads() {
+
+        return workerThreads;
+    }
+
+    /**
+     * Sets the number of worker threads used to convert AIXM members
+     * while building the cache.  These are divided evenly among the
+     * subscriber files being loaded, with at least one worker thread
+     * for each.  Each subscriber file also uses the same number of
+     * threads to parse its XML in chunks.  By default, this is the
+     * number of processors available to the JVM.
+     *
+     * @param workerThreads the number of worker threads
+     * @throws IllegalArgumentException if {@code workerThreads} is less than 1
+     */
+    public static void setWorkerThreads(int workerThreads) {
+
+        if (workerThreads < 1) {
+
+            throw new IllegalArgumentException("Worker thread count must be at least 1.");
+        }
+
+        AIXM.workerThreads = workerThreads;
+    }
 
-        if (!TEMP_DIRECTORY.mkdirs()) {
+    /**
+     * Gets the maximum number of converted features from each subscriber
+     * file that can be waiting to be written to their caches.
+     *
+     * @return The write queue capacity
+     */
+    public static int getWriteQueueCapacity() {
+
+        return writeQueueCapacity;
+    }
+
+    /**
+     * Sets the maximum number of converted features from each subscriber
+     * file that can be waiting to be written to their caches.  Features
+     * are written on a separate thread, so parsing continues while cache
+     * files are written.  If the queue fills up, parsing waits for cache
+     * writes to catch up, which caps the memory used by converted features.
+     * By default, this is 1024 features.
+     *
+     * @param writeQueueCapacity the write queue capacity
+     * @throws IllegalArgumentException if {@code writeQueueCapacity} is less than 1
+     */
+    public static void setWriteQueueCapacity(int writeQueueCapacity) {
 
-            getLogger().error("Failed to create Jetway's temporary directory. (" + TEMP_DIRECTORY.getPath() + ")");
-            throw new JetwayException("Failed to create Jetway's temporary directory. (" + TEMP_DIRECTORY.getAbsolutePath() + ")");
+        if (writeQueueCapacity < 1) {
+
+            throw new IllegalArgumentException("Write queue capacity must be at least 1.");
         }
 
-        try {
+        AIXM.writeQueueCapacity = writeQueueCapacity;
+    }
 
-            File zipTemp = new File(TEMP_DIRECTORY, APT_ZIP);
-            File xmlTemp = new File(TEMP_DIRECTORY, APT_XML);
-            temporaryFiles.add(zipTemp);
-            temporaryFiles.add(xmlTemp);
+    /**
+     * Registers a type to be loaded from the specified subscriber file.
+     * <p>
+     * Subscriber files are loaded concurrently, so a cache can only be
+     * loaded from a single subscriber file, and types can only be assigned
+     * to features loaded from the same subscriber file.
+     *
+     * @param subscriberFile the subscriber file containing the type's features
+     * @param type           the type to register
+     * @param loadableType   the feature class to load the type into
+     * @param cache          the cache for the feature class, or {@code null}
+     *                       if the feature class is not cached
+     * @param clear          whether or not the type clears the existing
+     *                       instance of its feature class
+     * @throws IllegalArgumentException if the cache is already loaded from
+     *                                  another subscriber file
+     */
+    static void registerType(SubscriberFile subscriberFile, AIXMType type, Class<? extends AIXMLoadable> loadableType, Cache cache, boolean clear) {
 
-            getLogger().info("Loading NASR file...");
-            try (FileSystem outerZip = FileSystems.newFileSystem(Jetway.getNASRFileLocation().toPath(), null)) {
+        if (cache != null) {
 
-                getLogger().info("Copying inner airport file into temporary directory...");
-                Path innerZipPath = outerZip.getPath("/" + AIXM_DIRECTORY_LOCATION + APT_ZIP);
-                Files.copy(innerZipPath, zipTemp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            for (Map.Entry<SubscriberFile, Set<Cache>> entry : subscriberFileCaches.entrySet()) {
 
-                getLogger().info("Loading temporary airport file...");
-                try (FileSystem innerZip = FileSystems.newFileSystem(zipTemp.toPath(), null)) {
+                if (entry.getKey() != subscriberFile && entry.getValue().contains(cache)) {
 
-                    getLogger().info("Copying inner airport AIXM XML file into temporary directory...");
-                    Path xmlPath = innerZip.getPath("/" + APT_XML);
-                    Files.copy(xmlPath, xmlTemp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    throw new IllegalArgumentException("Cache in " + cache.getCacheDirectory() + " is already loaded from subscriber file " + entry.getKey() + ".");
                 }
             }
+        }
 
-            return xmlTemp;
+        types.put(type, loadableType);
+        clearTypes.put(type, clear);
+        caches.put(loadableType, cache);
+        dispatchers.computeIfAbsent(subscriberFile, key -> new MemberDispatcher()).register(type);
 
-        } catch (IOException e) {
+        Set<Cache> fileCaches = subscriberFileCaches.computeIfAbsent(subscriberFile, key -> new HashSet<>());
+        if (cache != null) {
 
-            getLogger().error("Failed to extract AIXM file from zipped NASR file.", e);
-            throw new JetwayException("Failed to extract AIXM file from zipped NASR file.", e);
+            fileCaches.add(cache);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static void loadAirportMembers(SubscriberFileComponentPropertyType[] members) throws JetwayException {
+    private static void loadCache(Dataset dataset, boolean update, Map<String, Long> resumeIndices) throws JetwayException {
 
-        existingInstances = new HashMap<>();
+        getLogger().info("Checking NASR file validity...");
+        checkNASRLocation();
 
-        for (SubscriberFileComponentPropertyType member : members) {
+        getLogger().info("Defining default AIXM-Jetway type converters...");
+        Converters.defineEnumConverters();
 
-            for (AIXMType type : types.keySet()) {
+        getLogger().info("Defining default AIXM types...");
+        clearRegisteredTypes();
+        Types.defineTypes(dataset);
 
-                try {
+        Set<Cache> loadedCaches = new HashSet<>(caches.values());
+        loadedCaches.remove(null);
 
-                    String aixmType = type.getIdentifier();
-                    String aixmId = null;
-                    Matcher m = ID_PATTERN.matcher(aixmType);
-                    if (m.matches()) {
+        IngestMonitor monitor = new IngestMonitor(new ArrayList<>(listeners), loadedCaches, progressInterval);
 
-                        aixmType = m.group(1);
-                        aixmId = m.group(2);
-                    }
+        for (Cache cache : loadedCaches) {
+
+            if (update) {
 
-                    Object aixmObject = SubscriberFileComponentPropertyType.class.getMethod("get" + aixmType).invoke(member);
-                    if (aixmObject != null) {
+                cache.beginUpdate();
+            }
 
-                        if (aixmId != null) {
+            cache.beginBulkLoad();
+        }
 
-                            Object aixmObjectId = aixmObject.getClass().getMethod("getId").invoke(aixmObject);
-                            if (aixmObjectId != null && !aixmObjectId.toString().matches(aixmId + "_[0-9_]+")) {
+        Map<SubscriberFile, Long> startIndices = new LinkedHashMap<>();
+        for (SubscriberFile subscriberFile : dispatchers.keySet()) {
 
-                                continue;
-                            }
-                        }
+            Long resumeIndex = resumeIndices == null ? null : resumeIndices.get(subscriberFile.getName());
+            startIndices.put(subscriberFile, resumeIndex == null ? 0L : resumeIndex);
+        }
 
-                        Pair<AIXMLoadable, Boolean> result = getInstance(type, clearTypes.get(type));
-                        AIXMLoadable loadable = result.getKey();
-                        AIXMFeature timeSlice = getTimeSlice(aixmObject, aixmType);
+        // Updates rewrite existing entries in place, so only builds can be resumed
+        IngestCheckpoint checkpoint = null;
+        if (!update && checkpointInterval > 0) {
 
-                        loadable.loadFromAIXM(type, timeSlice);
+            checkpoint = new IngestCheckpoint(dataset.getCheckpointFile(), subscriberFileCaches, checkpointInterval, startIndices);
+        }
 
-                        UUID uuid = UUID.randomUUID();
-                        if (result.getValue() && caches.get(types.get(type)) != null) {
+        if (update) {
 
-                            try {
+            getLogger().info("Updating feature data from " + startIndices.size() + " subscriber files...");
 
-                                caches.get(types.get(type)).add(uuid, loadable);
+        } else if (resumeIndices != null) {
 
-                            } catch (ClassCastException e) {
+            getLogger().info("Resuming feature data load from " + startIndices.size() + " subscriber files...");
 
-                                getLogger().error("Cache specified for type " + types.get(type).getName() + " did not accept object of type " + loadable.getClass().getName() + ".", e);
-                                throw new JetwayException("Cache specified for type " + types.get(type).getName() + " did not accept object of type " + loadable.getClass().getName() + ".");
-                            }
-                        }
+        } else {
 
-                        if (type.getAssignmentClass() != null && existingInstances.containsKey(type.getAssignmentClass())) {
+            getLogger().info("Loading feature data from " + startIndices.size() + " subscriber files...");
+        }
 
-                            ((AIXMAssignable) existingInstances.get(type.getAssignmentClass())).assign(uuid, loadable);
-                        }
-                    }
+        loadSubscriberFiles(monitor, checkpoint, startIndices);
 
-                } catch (Exception e) {
+        if (update) {
 
-                    getLogger().error("Failed to load AIXM member.", e);
-                    throw new JetwayException("Failed to load AIXM member.", e);
-                }
+            long startNanos = System.nanoTime();
+            for (Cache cache : loadedCaches) {
+
+                int removed = cache.endUpdate();
+                getLogger().info("Removed " + removed + " features that no longer exist from cache in " + cache.getCacheDirectory().getPath() + ".");
             }
+            monitor.record(IngestPhase.CACHE_WRITE, startNanos);
+        }
+
+        getLogger().info("Writing remaining cache entries to files...");
+        long startNanos = System.nanoTime();
+        for (Cache cache : loadedCaches) {
+
+            cache.endBulkLoad();
+        }
+        monitor.record(IngestPhase.EMPTY_CACHE, startNanos);
+
+        if (checkpoint != null) {
+
+            checkpoint.delete();
         }
+
+        getLogger().info("Loaded AIXM data: " + monitor.complete() + ".");
     }
 
-    private static Pair<AIXMLoadable, Boolean> getInstance(AIXMType type, boolean clear) throws JetwayException {
+    private static void clearRegisteredTypes() {
 
-        try {
+        // Types are registered against the caches of the dataset being loaded, so drop those of any previous dataset
+        types.clear();
+        clearTypes.clear();
+        caches.clear();
+        dispatchers.clear();
+        subscriberFileCaches.clear();
+    }
 
-            boolean newObj = false;
-            Class<? extends AIXMLoadable> typeClass = types.get(type);
-            if (clear || !existingInstances.containsKey(typeClass)) {
+    private static void checkNASRLocation() throws JetwayException {
 
-                existingInstances.remove(typeClass);
-                AIXMLoadable aixmLoadable = typeClass.newInstance();
-                existingInstances.put(typeClass, aixmLoadable);
-                newObj = true;
-            }
+        if (Jetway.getNASRFileLocation() == null) {
 
-            return new Pair<>(existingInstances.get(typeClass), newObj);
+            getLogger().error("NASR file cannot be null.");
+            throw new JetwayException("NASR data file cannot be null.");
 
-        } catch (Exception e) {
+        } else if (!Jetway.getNASRFileLocation().exists()) {
 
-            getLogger().error("Could not create instance of type " + types.get(type).getName() + ".", e);
-            throw new JetwayException("Could not create instance of type " + types.get(type).getName() + ".", e);
+            getLogger().error("NASR file does not exist.");
+            throw new JetwayException("NASR file does not exist.", new FileNotFoundException(Jetway.getNASRFileLocation().getAbsolutePath()));
         }
     }
 
-    private static AIXMFeature getTimeSlice(Object aixmObject, String aixmType) throws JetwayException {
+    private static void loadSubscriberFiles(IngestMonitor monitor, IngestCheckpoint checkpoint, Map<SubscriberFile, Long> startIndices) throws JetwayException {
+
+        if (startIndices.isEmpty()) {
+
+            return;
+        }
+
+        getLogger().info("Opening NASR file...");
+        long startNanos = System.nanoTime();
+        try (NASRArchive archive = new NASRArchive(Jetway.getNASRFileLocation())) {
+
+            monitor.record(IngestPhase.EXTRACTION, startNanos);
+
+            int threads = Math.max(1, workerThreads / startIndices.size());
+            getLogger().info("Streaming " + startIndices.size() + " AIXM subscriber files from NASR file using XMLBeans (" + threads + " parser and " + threads + " worker threads each)...");
+
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService loaders = Executors.newFixedThreadPool(startIndices.size(), runnable -> {
+
+                Thread thread = new Thread(runnable, "Jetway AIXM Loader " + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
 
-        try {
+            try {
 
-            Object timeSliceAbstract = ((Object[]) aixmObject.getClass().getMethod("getTimeSliceArray").invoke(aixmObject))[0];
-            Object timeSlice = timeSliceAbstract.getClass().getMethod("get" + aixmType + "TimeSlice").invoke(timeSliceAbstract);
-            return new AIXMFeature(timeSlice, aixmType);
+                List<Future<?>> futures = new ArrayList<>();
+                for (Map.Entry<SubscriberFile, Long> entry : startIndices.entrySet()) {
 
-        } catch (Exception e) {
+                    futures.add(loaders.submit(() -> {
 
-            getLogger().error("Failed to extract time slice for AIXM member.", e);
-            throw new JetwayException("Failed to extract time slice for AIXM member.", e);
+                        loadSubscriberFile(archive, entry.getKey(), monitor, checkpoint, entry.getValue(), threads);
+                        return null;
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+
+                    future.get();
+                }
+
+            } catch (ExecutionException e) {
+
+                Throwable cause = e.getCause();
+                if (cause instanceof JetwayException) {
+
+                    throw (JetwayException) cause;
+
+                } else if (cause instanceof RuntimeException) {
+
+                    throw (RuntimeException) cause;
+                }
+
+                getLogger().error("Failed to load AIXM file.", cause);
+                throw new JetwayException("Failed to load AIXM file.", cause);
+
+            } catch (InterruptedException e) {
+
+                Thread.currentThread().interrupt();
+
+                getLogger().error("Interrupted while loading AIXM files.", e);
+                throw new JetwayException("Interrupted while loading AIXM files.", e);
+
+            } finally {
+
+                // Stop any remaining subscriber files before the archive is closed
+                loaders.shutdownNow();
+                try {
+
+                    loaders.awaitTermination(1, TimeUnit.MINUTES);
+
+                } catch (InterruptedException e) {
+
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+        } catch (IOException e) {
+
+            getLogger().error("Failed to open NASR file.", e);
+            throw new JetwayException("Failed to open NASR file.", e);
         }
     }
 
-    private static boolean removeTemporaryFiles() {
+    private static void loadSubscriberFile(NASRArchive archive, SubscriberFile subscriberFile, IngestMonitor monitor, IngestCheckpoint checkpoint, long startIndex, int threads) throws JetwayException {
 
-        boolean success = true;
-        for (File file : temporaryFiles) {
+        getLogger().info("Streaming " + subscriberFile + " AIXM file from inner " + subscriberFile.getZipName() + " file...");
+        long startNanos = System.nanoTime();
+        try (CountingInputStream stream = new CountingInputStream(archive.openSubscriberFile(AIXM_DIRECTORY_LOCATION + subscriberFile.getZipName(), subscriberFile.getXMLName()));
+             IngestPipeline pipeline = new IngestPipeline(subscriberFile, dispatchers.get(subscriberFile), types, clearTypes, caches, filters, monitor, checkpoint, startIndex, threads, writeQueueCapacity)) {
 
-            if (!file.delete()) {
+            monitor.addStream(stream);
+            monitor.record(IngestPhase.EXTRACTION, startNanos);
 
-                success = false;
+            startNanos = System.nanoTime();
+            try (ChunkedSubscriberFileReader reader = new ChunkedSubscriberFileReader(stream, threads, subscriberFile.getName())) {
+
+                monitor.record(IngestPhase.PARSE, startNanos);
+
+                if (startIndex > 0) {
+
+                    getLogger().info("Skipping " + startIndex + " " + subscriberFile + " AIXM members that were loaded before the last checkpoint...");
+
+                    startNanos = System.nanoTime();
+                    for (long i = 0; i < startIndex; i++) {
+
+                        if (!reader.skip()) {
+
+                            getLogger().error("Checkpoint is past the end of the " + subscriberFile + " AIXM file.");
+                            throw new JetwayException("Checkpoint is past the end of the " + subscriberFile + " AIXM file.");
+                        }
+                    }
+                    monitor.record(IngestPhase.PARSE, startNanos);
+                }
+
+                int count = 0;
+                while (true) {
+
+                    if (Thread.currentThread().isInterrupted()) {
+
+                        getLogger().error("Interrupted while loading " + subscriberFile + " AIXM file.");
+                        throw new JetwayException("Interrupted while loading " + subscriberFile + " AIXM file.");
+                    }
+
+                    startNanos = System.nanoTime();
+                    SubscriberFileComponentPropertyType member = reader.next();
+                    monitor.record(IngestPhase.PARSE, startNanos);
+
+                    if (member == null) {
+
+                        break;
+                    }
+
+                    pipeline.submit(member);
+                    count++;
+                }
+
+                pipeline.finish();
+
+                getLogger().info("Read " + count + " AIXM members from " + subscriberFile + " file.");
             }
-        }
 
-        return success && TEMP_DIRECTORY.delete();
+        } catch (IOException | XMLStreamException | XmlException e) {
+
+            getLogger().error("Failed to load " + subscriberFile + " AIXM file.", e);
+            throw new JetwayException("Failed to load " + subscriberFile + " AIXM file.", e);
+        }
     }
 
     static Logger getLogger() {
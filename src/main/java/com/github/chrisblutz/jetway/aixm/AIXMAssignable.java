@@ -16,6 +16,8 @@
 
 package com.github.chrisblutz.jetway.aixm;
 
+import com.github.chrisblutz.jetway.caching.Cache;
+
 import java.util.UUID;
 
 /**
@@ -33,6 +35,8 @@ public interface AIXMAssignable<T extends AIXMLoadable> extends AIXMLoadable {
      *
      * @param uuid  the {@link UUID} key
      * @param value the AIXM feature object
+     * @param cache the cache that the AIXM feature is stored in, or
+     *              {@code null} if features of its type are not cached
      */
-    void assign(UUID uuid, T value);
+    void assign(UUID uuid, T value, Cache<UUID, T> cache);
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a field of an {@link AIXMLoadable} class to an AIXM path.
+ * <p>
+ * At compile time, a mapper class named {@code <Class>AIXMMapper} is
+ * generated in the same package for each class with annotated fields.
+ * The mapper contains a {@code static load(target, type, feature)} method
+ * that populates each annotated field directly, using {@link AIXMPath}
+ * constants and the {@link AIXMConverter} matching the field's type, so
+ * no paths are parsed or looked up by name while loading features.
+ * {@link AIXMLoadable#loadFromAIXM(AIXMType, AIXMFeature)} implementations
+ * can then delegate to the generated mapper.
+ * <p>
+ * Annotated fields must not be {@code private}, {@code final} or {@code static}.
+ * Fields may be {@link String}s, primitives (or their boxed types),
+ * {@link com.github.chrisblutz.jetway.features.positioning.GeoCoordinate}s,
+ * or {@code enum} types with a converter registered through
+ * {@link Converters#registerEnumConverter(Class, AIXMConverter)}.
+ *
+ * @author Christopher Lutz
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface AIXMAttribute {
+
+    /**
+     * The AIXM path to the value, relative to the feature
+     * (or to its extension, if {@link #extension()} is {@code true}).
+     *
+     * @return The AIXM path
+     */
+    String value();
+
+    /**
+     * Indicates that the path is relative to the feature's extension
+     * rather than to the feature itself.
+     *
+     * @return {@code true} if the path starts at the feature's extension
+     */
+    boolean extension() default false;
+
+    /**
+     * Indicates that the value (or any point along its path, including
+     * the extension) may be missing, in which case the converter's value
+     * for {@code null} is used.
+     *
+     * @return {@code true} if the value is optional
+     */
+    boolean optional() default false;
+
+    /**
+     * Indicates that a {@code boolean} value should be inverted before
+     * it is assigned (i.e. for a field indicating public use that is
+     * mapped to a value indicating private use).
+     *
+     * @return {@code true} if the value should be inverted
+     */
+    boolean inverted() default false;
+
+    /**
+     * The identifiers of the {@link AIXMType}s this field is loaded for.
+     * If this is empty, the field is loaded for every type.
+     *
+     * @return The identifiers of the types this field is loaded for
+     */
+    String[] types() default {};
+}
@@ -26,6 +26,8 @@ package com.github.chrisblutz.jetway.aixm;
  */
 public abstract class AIXMConverter<T> {
 
+    private Class<?>[] acceptedTypeCache = null;
+
     /**
      * Converts a raw AIXM object (or native Java object) into
      * this converter's Jetway (or native Java) type.
@@ -47,4 +49,34 @@ public abstract class AIXMConverter<T> {
      * @return A {@code Class[]} containing all accepted types
      */
     public abstract Class<?>[] acceptedTypes();
+
+    /**
+     * Determines if the specified value is an instance of one of the
+     * types returned by {@link AIXMConverter#acceptedTypes()}.  The
+     * accepted types are only retrieved once, so this method can be
+     * called for every value converted without allocating.
+     *
+     * @param value the value to check
+     * @return {@code true} if the value is accepted by this converter,
+     * {@code false} otherwise
+     */
+    public boolean accepts(Object value) {
+
+        Class<?>[] types = acceptedTypeCache;
+        if (types == null) {
+
+            types = acceptedTypes();
+            acceptedTypeCache = types;
+        }
+
+        for (Class<?> type : types) {
+
+            if (type.isInstance(value)) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -45,7 +45,7 @@ public class AIXMData {
      * <p>
      * This method is equivalent to calling
      * <pre>
-     *     getBoolean(null);
+     *     getBoolean((String) null);
      * </pre>
      *
      * @return A {@code boolean} value corresponding to the value
@@ -60,7 +60,7 @@ public class AIXMData {
      */
     public boolean getBoolean() {
 
-        return getBoolean(null);
+        return getBoolean((String) null);
     }
 
     /**
@@ -78,7 +78,41 @@ public class AIXMData {
      */
     public boolean getBoolean(String path) {
 
-        return get(path, Converters.BOOLEAN_CONVERTER);
+        return Converters.BOOLEAN_CONVERTER.convertBoolean(checkType(valueAt(path), Converters.BOOLEAN_CONVERTER));
+    }
+
+    /**
+     * Crawls to the specified compiled path and extracts a {@code boolean}
+     * value from the resulting {@code AIXMData} instance, without boxing it.
+     *
+     * @param path the compiled AIXM path to crawl to before extracting the value
+     * @return A {@code boolean} corresponding to the value
+     * contained in the {@code AIXMData} instance indicated by the specified path
+     * @throws AIXMDataException if crawling the path causes an error, or if
+     *                           the value cannot be converted into a {@code boolean}
+     * @see AIXMData#get(AIXMPath, AIXMConverter)
+     */
+    public boolean getBoolean(AIXMPath path) {
+
+        return Converters.BOOLEAN_CONVERTER.convertBoolean(checkType(valueAt(path), Converters.BOOLEAN_CONVERTER));
+    }
+
+    /**
+     * Crawls to the specified compiled path and extracts a {@code boolean}
+     * value from the resulting {@code AIXMData} instance, without boxing it.
+     * Any point along the path may be {@code null}, in which case {@code false}
+     * is returned.
+     *
+     * @param path the compiled AIXM path to crawl to before extracting the value
+     * @return A {@code boolean} corresponding to the value
+     * contained in the {@code AIXMData} instance indicated by the specified path
+     * @throws AIXMDataException if the path does not exist, or if the value
+     *                           cannot be converted into a {@code boolean}
+     * @see AIXMData#checkedGet(AIXMPath, AIXMConverter)
+     */
+    public boolean checkedGetBoolean(AIXMPath path) {
+
+        return Converters.BOOLEAN_CONVERTER.convertBoolean(checkType(optionalValueAt(path), Converters.BOOLEAN_CONVERTER));
     }
 
     /**
@@ -171,7 +205,7 @@ public class AIXMData {
      * <p>
      * This method is equivalent to calling
      * <pre>
-     *     getDouble(null);
+     *     getDouble((String) null);
      * </pre>
      *
      * @return A {@code double} corresponding to the value
@@ -186,7 +220,7 @@ public class AIXMData {
      */
     public double getDouble() {
 
-        return getDouble(null);
+        return getDouble((String) null);
     }
 
     /**
@@ -204,7 +238,41 @@ public class AIXMData {
      */
     public double getDouble(String path) {
 
-        return get(path, Converters.DOUBLE_CONVERTER);
+        return Converters.DOUBLE_CONVERTER.convertDouble(checkType(valueAt(path), Converters.DOUBLE_CONVERTER));
+    }
+
+    /**
+     * Crawls to the specified compiled path and extracts a {@code double}
+     * value from the resulting {@code AIXMData} instance, without boxing it.
+     *
+     * @param path the compiled AIXM path to crawl to before extracting the value
+     * @return A {@code double} corresponding to the value
+     * contained in the {@code AIXMData} instance indicated by the specified path
+     * @throws AIXMDataException if crawling the path causes an error, or if
+     *                           the value cannot be converted into a {@code double}
+     * @see AIXMData#get(AIXMPath, AIXMConverter)
+     */
+    public double getDouble(AIXMPath path) {
+
+        return Converters.DOUBLE_CONVERTER.convertDouble(checkType(valueAt(path), Converters.DOUBLE_CONVERTER));
+    }
+
+    /**
+     * Crawls to the specified compiled path and extracts a {@code double}
+     * value from the resulting {@code AIXMData} instance, without boxing it.
+     * Any point along the path may be {@code null}, in which case {@code 0}
+     * is returned.
+     *
+     * @param path the compiled AIXM path to crawl to before extracting the value
+     * @return A {@code double} corresponding to the value
+     * contained in the {@code AIXMData} instance indicated by the specified path
+     * @throws AIXMDataException if the path does not exist, or if the value
+     *                           cannot be converted into a {@code double}
+     * @see AIXMData#checkedGet(AIXMPath, AIXMConverter)
+     */
+    public double checkedGetDouble(AIXMPath path) {
+
+        return Converters.DOUBLE_CONVERTER.convertDouble(checkType(optionalValueAt(path), Converters.DOUBLE_CONVERTER));
     }
 
     /**
@@ -345,7 +413,7 @@ public class AIXMData {
      * <p>
      * This method is equivalent to calling
      * <pre>
-     *     getInteger(null);
+     *     getInteger((String) null);
      * </pre>
      *
      * @return A {@code int} corresponding to the value
@@ -360,7 +428,7 @@ public class AIXMData {
      */
     public int getInteger() {
 
-        return getInteger(null);
+        return getInteger((String) null);
     }
 
     /**
@@ -378,7 +446,41 @@ public class AIXMData {
      */
     public int getInteger(String path) {
 
-        return get(path, Converters.INTEGER_CONVERTER);
+        return Converters.INTEGER_CONVERTER.convertInteger(checkType(valueAt(path), Converters.INTEGER_CONVERTER));
+    }
+
+    /**
+     * Crawls to the specified compiled path and extracts an {@code int}
+     * value from the resulting {@code AIXMData} instance, without boxing it.
+     *
+     * @param path the compiled AIXM path to crawl to before extracting the value
+     * @return An {@code int} corresponding to the value
+     * contained in the {@code AIXMData} instance indicated by the specified path
+     * @throws AIXMDataException if crawling the path causes an error, or if
+     *                           the value cannot be converted into an {@code int}
+     * @see AIXMData#get(AIXMPath, AIXMConverter)
+     */
+    public int getInteger(AIXMPath path) {
+
+        return Converters.INTEGER_CONVERTER.convertInteger(checkType(valueAt(path), Converters.INTEGER_CONVERTER));
+    }
+
+    /**
+     * Crawls to the specified compiled path and extracts an {@code int}
+     * value from the resulting {@code AIXMData} instance, without boxing it.
+     * Any point along the path may be {@code null}, in which case {@code 0}
+     * is returned.
+     *
+     * @param path the compiled AIXM path to crawl to before extracting the value
+     * @return An {@code int} corresponding to the value
+     * contained in the {@code AIXMData} instance indicated by the specified path
+     * @throws AIXMDataException if the path does not exist, or if the value
+     *                           cannot be converted into an {@code int}
+     * @see AIXMData#checkedGet(AIXMPath, AIXMConverter)
+     */
+    public int checkedGetInteger(AIXMPath path) {
+
+        return Converters.INTEGER_CONVERTER.convertInteger(checkType(optionalValueAt(path), Converters.INTEGER_CONVERTER));
     }
 
     /**
@@ -513,7 +615,7 @@ public class AIXMData {
      * <p>
      * This method is equivalent to calling
      * <pre>
-     *     get(null, converter);
+     *     get((String) null, converter);
      * </pre>
      *
      * @param converter the converter to use
@@ -528,7 +630,7 @@ public class AIXMData {
      */
     public <T> T get(AIXMConverter<T> converter) {
 
-        return get(null, converter);
+        return get((String) null, converter);
     }
 
     /**
@@ -545,34 +647,102 @@ public class AIXMData {
      * @throws AIXMDataException if the resulting {@code AIXMData} instance
      *                           cannot be converted into the correct type.
      */
-    @SuppressWarnings("unchecked")
     public <T> T get(String path, AIXMConverter<T> converter) {
 
-        AIXMData data = this;
-        if (path != null) {
+        return converter.convert(checkType(valueAt(path), converter));
+    }
 
-            data = crawl(path);
+    /**
+     * Crawls to the specified compiled path and extracts a value from
+     * the resulting {@code AIXMData} instance using the specified converter.
+     *
+     * @param path      the compiled AIXM path to crawl to before extracting the value
+     * @param converter the converter to use
+     * @param <T>       the type expected
+     * @return A value corresponding to the value contained in the
+     * {@code AIXMData} instance indicated by the specified path
+     * @throws AIXMDataException if crawling the path causes an error, or if
+     *                           the value cannot be converted
+     * @see AIXMData#get(String, AIXMConverter)
+     */
+    public <T> T get(AIXMPath path, AIXMConverter<T> converter) {
+
+        return converter.convert(checkType(valueAt(path), converter));
+    }
+
+    /**
+     * Crawls to the specified compiled path and extracts a value from
+     * the resulting {@code AIXMData} instance using the specified converter.
+     * Unlike {@link AIXMData#get(AIXMPath, AIXMConverter)}, any point along
+     * the path (including this instance) may be {@code null}, in which case
+     * the converter's value for {@code null} is returned.
+     *
+     * @param path      the compiled AIXM path to crawl to before extracting the value
+     * @param converter the converter to use
+     * @param <T>       the type expected
+     * @return A value corresponding to the value contained in the
+     * {@code AIXMData} instance indicated by the specified path
+     * @throws AIXMDataException if the path does not exist, or if the
+     *                           value cannot be converted
+     * @see AIXMData#checkedCrawl(String)
+     */
+    public <T> T checkedGet(AIXMPath path, AIXMConverter<T> converter) {
+
+        return converter.convert(checkType(optionalValueAt(path), converter));
+    }
+
+    /**
+     * Retrieves the raw value at the specified path, relative to this instance.
+     *
+     * @param path the AIXM path, or {@code null} for this instance's value
+     * @return The raw value, which may be {@code null}
+     * @throws AIXMDataException if crawling the path causes an error
+     */
+    Object valueAt(String path) {
+
+        return path == null ? data : access(path);
+    }
+
+    /**
+     * Retrieves the raw value at the specified compiled path, relative to this instance.
+     *
+     * @param path the compiled AIXM path
+     * @return The raw value, which may be {@code null}
+     * @throws AIXMDataException if crawling the path causes an error
+     */
+    Object valueAt(AIXMPath path) {
+
+        if (data == null) {
+
+            AIXM.getLogger().error("Could not retrieve AIXM element for path '" + path + "' from a null value.");
+            throw new AIXMDataException("Could not retrieve AIXM element for path '" + path + "'.");
         }
 
-        if (data.data != null) {
+        return path.access(data);
+    }
 
-            boolean matches = false;
-            for (Class<?> acceptedType : converter.acceptedTypes()) {
+    /**
+     * Retrieves the raw value at the specified compiled path, relative to
+     * this instance, or {@code null} if any point along the path is {@code null}.
+     *
+     * @param path the compiled AIXM path
+     * @return The raw value, which may be {@code null}
+     * @throws AIXMDataException if the path does not exist
+     */
+    Object optionalValueAt(AIXMPath path) {
 
-                if (acceptedType.isInstance(data.data)) {
+        return data == null ? null : path.accessOptional(data);
+    }
 
-                    matches = true;
-                }
-            }
+    private static Object checkType(Object value, AIXMConverter<?> converter) {
 
-            if (!matches) {
+        if (value != null && !converter.accepts(value)) {
 
-                AIXM.getLogger().error("Specified converter does not support elements of type " + (data.data == null ? null : data.data.getClass().getName()) + ".");
-                throw new AIXMDataException("Specified converter does not support elements of type " + (data.data == null ? null : data.data.getClass().getName()) + ".");
-            }
+            AIXM.getLogger().error("Specified converter does not support elements of type " + value.getClass().getName() + ".");
+            throw new AIXMDataException("Specified converter does not support elements of type " + value.getClass().getName() + ".");
         }
 
-        return converter.convert(data.data);
+        return value;
     }
 
     /**
@@ -594,31 +764,18 @@ public class AIXMData {
      */
     public AIXMData crawl(String path) {
 
-        try {
-
-            String subsequentCrawl = null;
-            if (path.contains("/") || path.contains("\\")) {
-
-                String[] parts = path.replace('\\', '/').split("/", 2);
-                path = parts[0];
-                subsequentCrawl = parts[1];
-            }
-
-            AIXMData result = new AIXMData(data.getClass().getMethod("get" + path).invoke(data));
-            if (subsequentCrawl != null) {
-
-                return result.crawl(subsequentCrawl);
-
-            } else {
+        return new AIXMData(access(path));
+    }
 
-                return result;
-            }
+    private Object access(String path) {
 
-        } catch (Exception e) {
+        if (data == null) {
 
-            AIXM.getLogger().error("Could not retrieve AIXM element for path '" + path + "'.", e);
+            AIXM.getLogger().error("Could not retrieve AIXM element for path '" + path + "' from a null value.");
             throw new AIXMDataException("Could not retrieve AIXM element for path '" + path + "'.");
         }
+
+        return PathAccessor.forPath(data.getClass(), path).access(data);
     }
 
     /**
@@ -74,8 +74,8 @@ public class AIXMFeature extends AIXMData {
 
             try {
 
-                Object extensionAbstract = ((Object[]) data.getClass().getMethod("getExtensionArray").invoke(data))[0];
-                extension = new AIXMData(extensionAbstract.getClass().getMethod("getAbstract" + type + "Extension").invoke(extensionAbstract));
+                Object extensionAbstract = ((Object[]) PathAccessor.forPath(data.getClass(), "ExtensionArray").access(data))[0];
+                extension = new AIXMData(PathAccessor.forPath(extensionAbstract.getClass(), "Abstract" + type + "Extension").access(extensionAbstract));
 
             } catch (Exception e) {
 
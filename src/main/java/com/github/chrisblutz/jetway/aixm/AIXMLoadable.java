@@ -35,4 +35,22 @@ public interface AIXMLoadable {
      * @param feature the feature data
      */
     void loadFromAIXM(AIXMType type, AIXMFeature feature);
+
+    /**
+     * Retrieves a value that identifies this feature among the other
+     * features of its type (or, if this feature is assigned to another
+     * feature, among the other features assigned to the same feature).
+     * This is used to derive a stable key for this feature when its AIXM
+     * data does not include an ID.
+     * <p>
+     * By default, this method returns {@code null}, in which case a random
+     * key is used for features without an AIXM ID.
+     *
+     * @return The identity of this feature, or {@code null} if it does not
+     * have one
+     */
+    default String getAIXMIdentity() {
+
+        return null;
+    }
 }
@@ -72,6 +72,37 @@ public class AIXMNullData extends AIXMData {
         return null;
     }
 
+    /**
+     * This method always returns {@code null}.  It overrides
+     * {@link AIXMData#get(AIXMPath, AIXMConverter)} for the same
+     * reasons as {@link AIXMNullData#get(String, AIXMConverter)}.
+     *
+     * @param path      the compiled AIXM path to crawl to before extracting the value.
+     *                  This has no effect in this implementation of the method.
+     * @param converter the converter to use.  This has no effect in this
+     *                  implementation of the method.
+     * @param <T>       the type expected
+     * @return {@code null}
+     * @see AIXMData#get(AIXMPath, AIXMConverter)
+     */
+    @Override
+    public <T> T get(AIXMPath path, AIXMConverter<T> converter) {
+
+        return null;
+    }
+
+    @Override
+    Object valueAt(String path) {
+
+        return null;
+    }
+
+    @Override
+    Object valueAt(AIXMPath path) {
+
+        return null;
+    }
+
     /**
      * This method always returns the singleton instance of
      * {@code AIXMNullData}.  It overrides {@link AIXMData#crawl(String)}
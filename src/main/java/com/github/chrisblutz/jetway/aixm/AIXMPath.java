@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+/**
+ * Represents an AIXM path (i.e. {@code ARP/ElevatedPoint/Position})
+ * that is compiled once and reused, rather than being looked up by
+ * its {@link String} form every time it is crawled.
+ * <p>
+ * Paths are bound to the class of the last object they were crawled
+ * from, so crawling the same path from objects of the same class only
+ * requires a single comparison before the path's getters are invoked.
+ * Instances are intended to be held in {@code static final} fields,
+ * such as those in generated AIXM mappers.
+ *
+ * @author Christopher Lutz
+ */
+public final class AIXMPath {
+
+    private String path;
+    private volatile Binding binding = null;
+
+    private AIXMPath(String path) {
+
+        this.path = path;
+    }
+
+    /**
+     * Compiles the specified AIXM path.
+     *
+     * @param path the AIXM path
+     * @return The compiled path
+     */
+    public static AIXMPath compile(String path) {
+
+        return new AIXMPath(path);
+    }
+
+    /**
+     * Gets the {@link String} form of this path.
+     *
+     * @return The path as a {@link String}
+     */
+    public String getPath() {
+
+        return path;
+    }
+
+    /**
+     * Retrieves the value at the end of this path.
+     *
+     * @param root the object to start crawling from
+     * @return The value at the end of this path, which may be {@code null}
+     * @throws com.github.chrisblutz.jetway.exceptions.AIXMDataException if the path
+     *                                                                   does not exist, or if a point along the path other than the last is {@code null}
+     */
+    Object access(Object root) {
+
+        return accessorFor(root).access(root);
+    }
+
+    /**
+     * Retrieves the value at the end of this path, or {@code null}
+     * if any point along the path is {@code null}.
+     *
+     * @param root the object to start crawling from
+     * @return The value at the end of this path, which may be {@code null}
+     * @throws com.github.chrisblutz.jetway.exceptions.AIXMDataException if the path does not exist
+     */
+    Object accessOptional(Object root) {
+
+        return accessorFor(root).accessOptional(root);
+    }
+
+    private PathAccessor accessorFor(Object root) {
+
+        Binding current = binding;
+        if (current == null || current.type != root.getClass()) {
+
+            current = new Binding(root.getClass(), PathAccessor.forPath(root.getClass(), path));
+            binding = current;
+        }
+
+        return current.accessor;
+    }
+
+    @Override
+    public String toString() {
+
+        return path;
+    }
+
+    private static final class Binding {
+
+        private Class<?> type;
+        private PathAccessor accessor;
+
+        private Binding(Class<?> type, PathAccessor accessor) {
+
+            this.type = type;
+            this.accessor = accessor;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+/**
+ * Represents the way an AIXM feature refers to the feature it
+ * belongs to (i.e. the airport a runway belongs to).  References
+ * resolve to the AIXM ID of the referenced feature, so features
+ * can be associated regardless of the order they are read in.
+ * <p>
+ * A reference can either follow an XLink property of the feature
+ * (i.e. {@code AssociatedAirportHeliport}, whose {@code xlink:href}
+ * is {@code #AH_0000001}), or be derived from the feature's own ID
+ * by replacing its prefix (i.e. {@code RWY_BASE_END_0000001_1}
+ * belongs to {@code RWY_0000001_1}).
+ *
+ * @author Christopher Lutz
+ */
+public final class AIXMReference {
+
+    private AIXMPath path;
+    private String idPrefix, targetPrefix;
+
+    private AIXMReference(AIXMPath path, String idPrefix, String targetPrefix) {
+
+        this.path = path;
+        this.idPrefix = idPrefix;
+        this.targetPrefix = targetPrefix;
+    }
+
+    /**
+     * Creates a reference that follows the XLink property at the
+     * specified AIXM path (i.e. {@code AssociatedAirportHeliport}).
+     *
+     * @param path the AIXM path of the XLink property
+     * @return The reference
+     */
+    public static AIXMReference forLink(String path) {
+
+        return new AIXMReference(AIXMPath.compile(path + "/Href"), null, null);
+    }
+
+    /**
+     * Creates a reference that is derived from the feature's ID by
+     * replacing the specified ID prefix with the target prefix.
+     * For example, a reference from {@code RWY_BASE_END} to
+     * {@code RWY} resolves {@code RWY_BASE_END_0000001_1} to
+     * {@code RWY_0000001_1}.
+     *
+     * @param idPrefix     the ID prefix of the referring features
+     * @param targetPrefix the ID prefix of the referenced features
+     * @return The reference
+     */
+    public static AIXMReference forIdentifier(String idPrefix, String targetPrefix) {
+
+        return new AIXMReference(null, idPrefix + "_", targetPrefix + "_");
+    }
+
+    /**
+     * Resolves the AIXM ID of the feature referenced by the specified
+     * feature.
+     *
+     * @param id      the AIXM ID of the referring feature, which may be {@code null}
+     * @param feature the referring feature
+     * @return The ID of the referenced feature, or {@code null} if the
+     * feature does not refer to another feature
+     */
+    String resolve(String id, AIXMFeature feature) {
+
+        if (path == null) {
+
+            return id != null && id.startsWith(idPrefix) ? targetPrefix + id.substring(idPrefix.length()) : null;
+        }
+
+        Object href = feature.optionalValueAt(path);
+        if (href == null) {
+
+            return null;
+        }
+
+        // Local references point to the gml:id of a feature in the same file
+        String link = href.toString();
+        return link.startsWith("#") ? link.substring(1) : link;
+    }
+
+    @Override
+    public String toString() {
+
+        return path != null ? path.toString() : idPrefix + "* -> " + targetPrefix + "*";
+    }
+}
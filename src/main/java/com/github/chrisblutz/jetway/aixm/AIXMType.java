@@ -40,11 +40,13 @@ public class AIXMType {
 
     private String identifier;
     private Class<? extends AIXMAssignable> assignTo;
+    private AIXMReference reference;
 
-    private AIXMType(String identifier, Class<? extends AIXMAssignable> assignTo) {
+    private AIXMType(String identifier, Class<? extends AIXMAssignable> assignTo, AIXMReference reference) {
 
         this.identifier = identifier;
         this.assignTo = assignTo;
+        this.reference = reference;
     }
 
     /**
@@ -72,12 +74,33 @@ public class AIXMType {
      * @param identifier the identifier of the type (formatted as {@code FeatureName[id=ID_PREFIX})
      * @param assignTo   the {@link AIXMLoadable} class that this feature should be assigned to after it is loaded
      * @return The {@code AIXMType} corresponding to the identifier
+     * @see AIXMType#forIdentifier(String, Class, AIXMReference)
      */
     public static AIXMType forIdentifier(String identifier, Class<? extends AIXMAssignable> assignTo) {
 
+        return forIdentifier(identifier, assignTo, null);
+    }
+
+    /**
+     * Retrieves the type for the specified identifier, the specified
+     * assignment class, and the specified reference to the feature
+     * that features of this type belong to.
+     * <p>
+     * For types that are assigned to another class, the reference
+     * identifies the feature they are assigned to.  For types that
+     * are loaded into an existing feature instead of creating a new
+     * one, the reference identifies the feature they are loaded into.
+     *
+     * @param identifier the identifier of the type (formatted as {@code FeatureName[id=ID_PREFIX})
+     * @param assignTo   the {@link AIXMLoadable} class that this feature should be assigned to after it is loaded
+     * @param reference  the reference to the feature that this feature belongs to
+     * @return The {@code AIXMType} corresponding to the identifier
+     */
+    public static AIXMType forIdentifier(String identifier, Class<? extends AIXMAssignable> assignTo, AIXMReference reference) {
+
         if (!aixmTypeMap.containsKey(identifier)) {
 
-            aixmTypeMap.put(identifier, new AIXMType(identifier, assignTo));
+            aixmTypeMap.put(identifier, new AIXMType(identifier, assignTo, reference));
         }
 
         return aixmTypeMap.get(identifier);
@@ -104,4 +127,16 @@ public class AIXMType {
 
         return assignTo;
     }
+
+    /**
+     * Gets the reference to the feature that features of this type
+     * belong to.
+     *
+     * @return The reference, or {@code null} if features of this type
+     * do not belong to another feature
+     */
+    public AIXMReference getReference() {
+
+        return reference;
+    }
 }
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import com.github.chrisblutz.jetway.caching.Cache;
+import com.github.chrisblutz.jetway.exceptions.JetwayException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * This class associates converted AIXM features with the features
+ * they belong to (i.e. runways with their airports) using the
+ * {@link AIXMReference} of each feature's type, rather than the order
+ * the features were read in.
+ * <p>
+ * Features are collected until the linker is flushed.  When it is,
+ * members that are loaded into another feature are loaded into it,
+ * features are assigned to the features they refer to, and complete
+ * features are added to their caches.  Both steps happen in the order
+ * the members appear in their subscriber file, so the result does not
+ * depend on the order features were added in.  Features that refer to
+ * a feature that has not been added yet are kept until a later flush.
+ * When the final flush is complete, they are cached without being assigned.
+ * <p>
+ * Features that refer to a feature that was added to its cache by an
+ * earlier flush are linked to it through that cache.  The cached feature
+ * is retrieved, updated and added again on the write queue's thread.
+ * Features stored inside another feature (i.e. runway ends) are updated
+ * and then assigned to that feature again in the same way.
+ *
+ * @author Christopher Lutz
+ */
+final class AssociationLinker {
+
+    private static final Comparator<Node> NODE_ORDER = Comparator.comparingLong(node -> node.index);
+    private static final Comparator<Load> LOAD_ORDER = Comparator.comparingLong(load -> load.index);
+
+    private Map<Class<? extends AIXMLoadable>, Cache> caches;
+
+    private Map<String, Node> features = new HashMap<>();
+    private Map<String, FlushedFeature> flushedFeatures = new HashMap<>();
+    private List<Node> nodes = new ArrayList<>();
+    private List<Load> loads = new ArrayList<>();
+
+    /**
+     * Creates a new linker that adds features to the specified caches.
+     *
+     * @param caches the caches for each feature class
+     */
+    AssociationLinker(Map<Class<? extends AIXMLoadable>, Cache> caches) {
+
+        this.caches = caches;
+    }
+
+    /**
+     * Adds a converted feature.
+     *
+     * @param index     the index of the feature's member in its subscriber file
+     * @param id        the AIXM ID of the feature, or {@code null} if it does not have one
+     * @param loadable  the converted feature, which may not have been loaded from
+     *                  its AIXM data if it was rejected
+     * @param accepted  whether or not the feature was accepted by its ingest filters
+     * @param parentId  the AIXM ID of the feature this feature is assigned to, or
+     *                  {@code null} if it is not assigned to another feature
+     */
+    void add(long index, String id, AIXMLoadable loadable, boolean accepted, String parentId) {
+
+        Node node = new Node(index, id, loadable, accepted, parentId != null && !parentId.equals(id) ? parentId : null);
+        nodes.add(node);
+
+        if (id != null) {
+
+            features.put(id, node);
+        }
+    }
+
+    /**
+     * Adds a member that is loaded into the feature it refers to,
+     * rather than creating a new feature.
+     *
+     * @param index    the index of the member in its subscriber file
+     * @param type     the type of the member
+     * @param feature  the member's feature data
+     * @param targetId the AIXM ID of the feature to load the member into
+     */
+    void load(long index, AIXMType type, AIXMFeature feature, String targetId) {
+
+        loads.add(new Load(index, type, feature, targetId));
+    }
+
+    /**
+     * Determines if this linker holds any features or members that
+     * have not been added to their caches.
+     *
+     * @return {@code true} if this linker is empty, {@code false} otherwise
+     */
+    boolean isEmpty() {
+
+        return nodes.isEmpty() && loads.isEmpty();
+    }
+
+    /**
+     * Links every feature whose references can be resolved and adds
+     * them to their caches through the specified write queue.
+     *
+     * @param writeQueue the write queue to add features with
+     * @param complete   whether or not every member has been added, in which
+     *                   case features with unresolved references are cached
+     *                   without being assigned
+     * @return The time spent waiting on the write queue, in nanoseconds
+     * @throws JetwayException if an error occurs while adding features to the write queue
+     */
+    @SuppressWarnings("unchecked")
+    long flush(CacheWriteQueue writeQueue, boolean complete) throws JetwayException {
+
+        int unresolved = 0;
+        long waitNanos = 0;
+
+        loads.sort(LOAD_ORDER);
+        List<Load> parkedLoads = new ArrayList<>();
+        for (Load load : loads) {
+
+            Node target = load.targetId == null ? null : features.get(load.targetId);
+            FlushedFeature flushedTarget = load.targetId == null ? null : flushedFeatures.get(load.targetId);
+            if (target != null) {
+
+                // Rejected features may not have been loaded, and are never cached
+                if (target.accepted) {
+
+                    target.loadable.loadFromAIXM(load.type, load.feature);
+                }
+
+            } else if (flushedTarget != null) {
+
+                waitNanos += relink(writeQueue, flushedTarget, loadable -> loadable.loadFromAIXM(load.type, load.feature));
+
+            } else if (!complete) {
+
+                parkedLoads.add(load);
+
+            } else {
+
+                unresolved++;
+            }
+        }
+        loads = parkedLoads;
+
+        nodes.sort(NODE_ORDER);
+        for (Node node : nodes) {
+
+            // Features that were kept by a previous flush may refer to features added since
+            node.parked = null;
+            node.effectivelyAccepted = null;
+        }
+
+        for (Node node : nodes) {
+
+            Node parent = parentOf(node);
+            if (isParked(node, complete)) {
+
+                continue;
+            }
+
+            FlushedFeature flushedParent = flushedParentOf(node);
+            if (parent != null && isAccepted(node)) {
+
+                ((AIXMAssignable) parent.loadable).assign(node.key(), node.loadable, caches.get(node.loadable.getClass()));
+
+            } else if (flushedParent != null && isAccepted(node)) {
+
+                UUID key = node.key();
+                Cache cache = caches.get(node.loadable.getClass());
+                waitNanos += relink(writeQueue, flushedParent, loadable -> ((AIXMAssignable) loadable).assign(key, node.loadable, cache));
+
+            } else if (parent == null && flushedParent == null && node.parentId != null) {
+
+                unresolved++;
+            }
+        }
+
+        List<Node> parkedNodes = new ArrayList<>();
+        for (Node node : nodes) {
+
+            if (isParked(node, complete)) {
+
+                parkedNodes.add(node);
+                continue;
+            }
+
+            Cache cache = caches.get(node.loadable.getClass());
+            if (cache != null && isAccepted(node)) {
+
+                long startNanos = System.nanoTime();
+                writeQueue.add(cache, node.key(), node.loadable);
+                waitNanos += System.nanoTime() - startNanos;
+            }
+
+            if (node.id != null) {
+
+                // Kept so that features added by later flushes can still be linked to this one
+                features.remove(node.id);
+                flushedFeatures.put(node.id, new FlushedFeature(node, cache, isAccepted(node)));
+            }
+        }
+        nodes = parkedNodes;
+
+        if (unresolved > 0) {
+
+            AIXM.getLogger().warn(unresolved + " AIXM members referred to features that were not found, and were not linked to them.");
+        }
+
+        return waitNanos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long relink(CacheWriteQueue writeQueue, FlushedFeature target, Consumer<AIXMLoadable> change) throws JetwayException {
+
+        // Find the cached feature the target is stored in, which is the target itself if it is cached
+        List<FlushedFeature> chain = new ArrayList<>();
+        FlushedFeature feature = target;
+        while (feature != null && feature.accepted) {
+
+            chain.add(feature);
+            if (feature.cache != null) {
+
+                break;
+            }
+
+            feature = feature.parentId == null ? null : flushedFeatures.get(feature.parentId);
+        }
+
+        FlushedFeature owner = chain.isEmpty() ? null : chain.get(chain.size() - 1);
+        if (owner == null || owner.cache == null) {
+
+            // Rejected features, and features that were never stored in a cached feature, are not cached
+            return 0;
+        }
+
+        long startNanos = System.nanoTime();
+        writeQueue.submit(() -> {
+
+            AIXMLoadable ownerLoadable = (AIXMLoadable) owner.cache.get(owner.key);
+            change.accept(chain.size() == 1 ? ownerLoadable : target.loadable);
+
+            for (int i = 1; i < chain.size(); i++) {
+
+                FlushedFeature child = chain.get(i - 1);
+                AIXMLoadable parent = i == chain.size() - 1 ? ownerLoadable : chain.get(i).loadable;
+                ((AIXMAssignable) parent).assign(child.key, child.loadable, null);
+            }
+
+            owner.cache.add(owner.key, ownerLoadable);
+        });
+
+        return System.nanoTime() - startNanos;
+    }
+
+    private Node parentOf(Node node) {
+
+        return node.parentId == null ? null : features.get(node.parentId);
+    }
+
+    private FlushedFeature flushedParentOf(Node node) {
+
+        return node.parentId == null || features.containsKey(node.parentId) ? null : flushedFeatures.get(node.parentId);
+    }
+
+    private boolean isParked(Node node, boolean complete) {
+
+        // Features stay until the feature they refer to (and every feature it refers to) has been added
+        if (complete) {
+
+            return false;
+        }
+
+        if (node.parked == null) {
+
+            Node parent = parentOf(node);
+            node.parked = node.parentId != null && flushedParentOf(node) == null && (parent == null || isParked(parent, false));
+        }
+
+        return node.parked;
+    }
+
+    private boolean isAccepted(Node node) {
+
+        // Features assigned to rejected features are rejected as well
+        if (node.effectivelyAccepted == null) {
+
+            Node parent = parentOf(node);
+            FlushedFeature flushedParent = flushedParentOf(node);
+            node.effectivelyAccepted = node.accepted && (parent != null ? isAccepted(parent) : flushedParent == null || flushedParent.accepted);
+        }
+
+        return node.effectivelyAccepted;
+    }
+
+    private static final class Node {
+
+        private long index;
+        private String id;
+        private AIXMLoadable loadable;
+        private boolean accepted;
+        private String parentId;
+
+        private UUID key = null;
+        private Boolean parked = null;
+        private Boolean effectivelyAccepted = null;
+
+        private Node(long index, String id, AIXMLoadable loadable, boolean accepted, String parentId) {
+
+            this.index = index;
+            this.id = id;
+            this.loadable = loadable;
+            this.accepted = accepted;
+            this.parentId = parentId;
+        }
+
+        private UUID key() {
+
+            if (key == null) {
+
+                key = createKey(id, loadable, parentId);
+            }
+
+            return key;
+        }
+    }
+
+    private static final class FlushedFeature {
+
+        private UUID key;
+        private Cache cache;
+        private boolean accepted;
+        private String parentId;
+        private AIXMLoadable loadable;
+
+        private FlushedFeature(Node node, Cache cache, boolean accepted) {
+
+            this.key = node.key();
+            this.cache = cache;
+            this.accepted = accepted;
+            this.parentId = node.parentId;
+
+            // Cached features are retrieved from their caches, so only
+            // features stored inside other features are held on to
+            this.loadable = cache == null && node.parentId != null ? node.loadable : null;
+        }
+    }
+
+    private static final class Load {
+
+        private long index;
+        private AIXMType type;
+        private AIXMFeature feature;
+        private String targetId;
+
+        private Load(long index, AIXMType type, AIXMFeature feature, String targetId) {
+
+            this.index = index;
+            this.type = type;
+            this.feature = feature;
+            this.targetId = targetId;
+        }
+    }
+
+    private static UUID createKey(String id, AIXMLoadable loadable, String parentId) {
+
+        // Keys are derived from the feature's identity so that unchanged
+        // features keep the same key (and cache file) across rebuilds
+        String identity;
+        if (id != null) {
+
+            identity = "id:" + id;
+
+        } else if (loadable.getAIXMIdentity() != null) {
+
+            identity = (parentId == null ? "" : createKey(parentId, null, null) + "/") + loadable.getClass().getName() + ":" + loadable.getAIXMIdentity();
+
+        } else {
+
+            return UUID.randomUUID();
+        }
+
+        return UUID.nameUUIDFromBytes(identity.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import com.github.chrisblutz.jetway.caching.Cache;
+import com.github.chrisblutz.jetway.exceptions.JetwayException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * This class writes converted features to their caches on a
+ * separate thread, so that parsing and converting members overlaps
+ * with writing cache files.
+ * <p>
+ * Writes are queued in the order they are submitted and performed one
+ * at a time, so the caches are only ever accessed from the writer thread
+ * until {@link #finish()} returns.  The queue is bounded, so if the writer
+ * thread falls behind, submitting a write blocks until there is space for
+ * it.  This keeps the number of converted features held in memory capped.
+ *
+ * @author Christopher Lutz
+ */
+final class CacheWriteQueue implements AutoCloseable {
+
+    /**
+     * Represents a task performed on the writer thread.
+     */
+    interface WriteTask {
+
+        /**
+         * Performs this task.
+         *
+         * @throws JetwayException if an error occurs while performing this task
+         */
+        void run() throws JetwayException;
+    }
+
+    private static final WriteTask END = () -> {
+
+    };
+
+    private BlockingQueue<WriteTask> queue;
+    private IngestMonitor monitor;
+    private Thread writer;
+
+    private volatile Throwable failure = null;
+
+    /**
+     * Creates a new queue and starts its writer thread.
+     *
+     * @param name     the name of the subscriber file being written
+     * @param capacity the maximum number of writes that can be queued
+     * @param monitor  the monitor to record statistics with
+     */
+    CacheWriteQueue(String name, int capacity, IngestMonitor monitor) {
+
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.monitor = monitor;
+
+        writer = new Thread(this::run, "Jetway Cache Writer " + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a feature to be added to the specified cache.
+     *
+     * @param cache    the cache to add the feature to
+     * @param key      the feature's key
+     * @param loadable the feature
+     * @throws JetwayException if a previous write failed, or if the
+     *                         thread is interrupted while waiting for space
+     */
+    @SuppressWarnings("unchecked")
+    void add(Cache cache, Object key, AIXMLoadable loadable) throws JetwayException {
+
+        submit(() -> {
+
+            try {
+
+                cache.add(key, loadable);
+
+            } catch (ClassCastException e) {
+
+                AIXM.getLogger().error("Cache in " + cache.getCacheDirectory().getPath() + " did not accept object of type " + loadable.getClass().getName() + ".", e);
+                throw new JetwayException("Cache in " + cache.getCacheDirectory().getPath() + " did not accept object of type " + loadable.getClass().getName() + ".");
+            }
+        });
+    }
+
+    /**
+     * Queues a task to be performed on the writer thread once every
+     * previously queued write has been performed.
+     *
+     * @param task the task to perform
+     * @throws JetwayException if a previous write failed, or if the
+     *                         thread is interrupted while waiting for space
+     */
+    void submit(WriteTask task) throws JetwayException {
+
+        checkFailure();
+
+        try {
+
+            queue.put(task);
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new JetwayException("Interrupted while waiting to write features to cache.", e);
+        }
+    }
+
+    /**
+     * Waits for every queued write to be performed and stops the writer thread.
+     *
+     * @throws JetwayException if any write failed, or if the thread is
+     *                         interrupted while waiting
+     */
+    void finish() throws JetwayException {
+
+        submit(END);
+
+        try {
+
+            writer.join();
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new JetwayException("Interrupted while waiting to write features to cache.", e);
+        }
+
+        checkFailure();
+    }
+
+    /**
+     * Stops the writer thread.  Any writes that have not yet
+     * been performed are discarded.
+     */
+    @Override
+    public void close() {
+
+        writer.interrupt();
+        queue.clear();
+    }
+
+    private void run() {
+
+        while (true) {
+
+            WriteTask task;
+            try {
+
+                task = queue.take();
+
+            } catch (InterruptedException e) {
+
+                return;
+            }
+
+            if (task == END) {
+
+                return;
+
+            } else if (failure != null) {
+
+                // Keep draining the queue so that submitting threads never block
+                continue;
+            }
+
+            long startNanos = System.nanoTime();
+            try {
+
+                task.run();
+
+            } catch (Throwable t) {
+
+                AIXM.getLogger().error("Failed to write features to cache.", t);
+                failure = t;
+            }
+            monitor.record(IngestPhase.CACHE_WRITE, startNanos);
+        }
+    }
+
+    private void checkFailure() throws JetwayException {
+
+        Throwable t = failure;
+        if (t != null) {
+
+            throw new JetwayException("Failed to write features to cache.", t);
+        }
+    }
+}
@@ -17,9 +17,10 @@
 package com.github.chrisblutz.jetway.aixm;
 
 import aero.aixm.v5.CodeAirportHeliportType;
-import aero.aixm.v5.CodeYesNoType;
-import aero.aixm.v5.impl.CodeYesNoTypeImpl;
+import com.github.chrisblutz.jetway.aixm.converters.BooleanAIXMConverter;
 import com.github.chrisblutz.jetway.aixm.converters.DefaultAIXMConverter;
+import com.github.chrisblutz.jetway.aixm.converters.DoubleAIXMConverter;
+import com.github.chrisblutz.jetway.aixm.converters.IntegerAIXMConverter;
 import com.github.chrisblutz.jetway.features.airports.FacilityType;
 import com.github.chrisblutz.jetway.features.airports.Ownership;
 import com.github.chrisblutz.jetway.features.positioning.GeoCoordinate;
@@ -27,7 +28,6 @@ import gov.faa.aixm51.apt.AirportHeliportExtensionType;
 import net.opengis.gml.x32.DirectPositionType;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -38,30 +38,14 @@ import java.util.Map;
  */
 public final class Converters {
 
+    private static final Class<?>[] GEO_COORDINATE_TYPES = new Class<?>[]{DirectPositionType.class};
+    private static final Class<?>[] FACILITY_TYPE_TYPES = new Class<?>[]{CodeAirportHeliportType.class};
+    private static final Class<?>[] OWNERSHIP_TYPES = new Class<?>[]{AirportHeliportExtensionType.OwnershipType.Enum.class};
+
     /**
      * This {@link AIXMConverter} instance converts AIXM data into {@code boolean} values.
      */
-    public static final AIXMConverter<Boolean> BOOLEAN_CONVERTER = new AIXMConverter<Boolean>() {
-
-        @Override
-        public Boolean convert(Object value) {
-
-            if (value instanceof CodeYesNoType) {
-
-                return ((CodeYesNoType) value).getObjectValue() == CodeYesNoTypeImpl.YES;
-
-            } else {
-
-                return false;
-            }
-        }
-
-        @Override
-        public Class<?>[] acceptedTypes() {
-
-            return new Class<?>[]{CodeYesNoType.class};
-        }
-    };
+    public static final BooleanAIXMConverter BOOLEAN_CONVERTER = new BooleanAIXMConverter();
 
     /**
      * This {@link AIXMConverter} instance converts AIXM data into {@link GeoCoordinate} values.
@@ -73,15 +57,22 @@ public final class Converters {
 
             if (value instanceof DirectPositionType) {
 
-                List values = ((DirectPositionType) value).getListValue();
+                // Positions are formatted as "longitude latitude", so they are parsed
+                // from the text directly rather than through the list of boxed values
+                String text = ((DirectPositionType) value).getStringValue();
+
+                int longitudeStart = skipWhitespace(text, 0);
+                int longitudeEnd = skipValue(text, longitudeStart);
+                int latitudeStart = skipWhitespace(text, longitudeEnd);
+                int latitudeEnd = skipValue(text, latitudeStart);
 
-                if (values.size() < 2) {
+                if (latitudeStart == latitudeEnd) {
 
                     return null;
                 }
 
-                double latitude = (double) values.get(1);
-                double longitude = (double) values.get(0);
+                double latitude = DoubleAIXMConverter.parseDouble(text, latitudeStart, latitudeEnd);
+                double longitude = DoubleAIXMConverter.parseDouble(text, longitudeStart, longitudeEnd);
 
                 return new GeoCoordinate(latitude, longitude);
 
@@ -94,7 +85,7 @@ public final class Converters {
         @Override
         public Class<?>[] acceptedTypes() {
 
-            return new Class<?>[]{DirectPositionType.class};
+            return GEO_COORDINATE_TYPES;
         }
     };
 
@@ -111,7 +102,7 @@ public final class Converters {
     /**
      * This {@link AIXMConverter} instance converts AIXM data into {@code double} values.
      */
-    public static final AIXMConverter<Double> DOUBLE_CONVERTER = new DefaultAIXMConverter<>(0d, Double::parseDouble);
+    public static final DoubleAIXMConverter DOUBLE_CONVERTER = new DoubleAIXMConverter(0d);
 
     /**
      * This {@link AIXMConverter} instance converts AIXM data into {@code float} values.
@@ -121,7 +112,7 @@ public final class Converters {
     /**
      * This {@link AIXMConverter} instance converts AIXM data into {@code int} values.
      */
-    public static final AIXMConverter<Integer> INTEGER_CONVERTER = new DefaultAIXMConverter<>(0, Integer::parseInt);
+    public static final IntegerAIXMConverter INTEGER_CONVERTER = new IntegerAIXMConverter(0);
 
     /**
      * This {@link AIXMConverter} instance converts AIXM data into {@code long} values.
@@ -170,6 +161,26 @@ public final class Converters {
         enumConverters.put(type, converter);
     }
 
+    private static int skipWhitespace(String text, int index) {
+
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+
+            index++;
+        }
+
+        return index;
+    }
+
+    private static int skipValue(String text, int index) {
+
+        while (index < text.length() && !Character.isWhitespace(text.charAt(index))) {
+
+            index++;
+        }
+
+        return index;
+    }
+
     /**
      * This method defines all of Jetway's default {@code enum} converters.
      * <p>
@@ -195,7 +206,7 @@ public final class Converters {
             @Override
             public Class<?>[] acceptedTypes() {
 
-                return new Class<?>[]{CodeAirportHeliportType.class};
+                return FACILITY_TYPE_TYPES;
             }
         });
 
@@ -217,7 +228,7 @@ public final class Converters {
             @Override
             public Class<?>[] acceptedTypes() {
 
-                return new Class<?>[]{AirportHeliportExtensionType.OwnershipType.Enum.class};
+                return OWNERSHIP_TYPES;
             }
         });
     }
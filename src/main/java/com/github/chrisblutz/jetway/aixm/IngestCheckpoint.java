@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import com.github.chrisblutz.jetway.caching.Cache;
+import com.github.chrisblutz.jetway.exceptions.JetwayException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * This class records how far a cache build has progressed through
+ * the members of each subscriber file, so that an interrupted build
+ * can be resumed rather than restarted.
+ * <p>
+ * Checkpoints are only taken at the start of a feature that is not
+ * assigned to another feature (i.e. an airport), since every feature
+ * read before that point is complete, and only if every feature read
+ * before that point has been linked to the feature it refers to.
+ * Taking a checkpoint for a subscriber file writes all cache entries
+ * added so far from that file before recording the index of that
+ * member, and when a file has been read completely, its final index is
+ * recorded as well.  Subscriber files are loaded concurrently and feed
+ * separate caches, so each one is checkpointed independently.  The
+ * checkpoint file exists for the entire build and is deleted once the
+ * build completes, so a cache that has a checkpoint file is known to be
+ * incomplete.
+ *
+ * @author Christopher Lutz
+ */
+final class IngestCheckpoint {
+
+    private static final String MEMBERS_PREFIX = "Members.";
+
+    private File file;
+    private Map<SubscriberFile, ? extends Collection<Cache>> caches;
+    private int interval;
+    private Map<SubscriberFile, Long> indices = new HashMap<>();
+
+    /**
+     * Creates a new checkpoint for a build starting at the specified
+     * member indices, recording those indices immediately.
+     *
+     * @param file         the checkpoint file
+     * @param caches       the caches being built from each subscriber file
+     * @param interval     the minimum number of members between checkpoints
+     * @param startIndices the index of the first member of the build in
+     *                     each subscriber file
+     * @throws JetwayException if the checkpoint file cannot be written
+     */
+    IngestCheckpoint(File file, Map<SubscriberFile, ? extends Collection<Cache>> caches, int interval, Map<SubscriberFile, Long> startIndices) throws JetwayException {
+
+        this.file = file;
+        this.caches = caches;
+        this.interval = interval;
+
+        indices.putAll(startIndices);
+        write();
+    }
+
+    /**
+     * Loads the member indices recorded in the specified checkpoint file,
+     * by subscriber file name.
+     *
+     * @param file the checkpoint file
+     * @return The index of the first member that has not been built in each
+     * subscriber file, or {@code null} if the file does not contain a valid
+     * checkpoint
+     */
+    static Map<String, Long> load(File file) {
+
+        if (file == null || !file.exists()) {
+
+            return null;
+        }
+
+        try (InputStream in = new FileInputStream(file)) {
+
+            Properties properties = new Properties();
+            properties.load(in);
+
+            Map<String, Long> indices = new HashMap<>();
+            for (String key : properties.stringPropertyNames()) {
+
+                if (key.startsWith(MEMBERS_PREFIX)) {
+
+                    indices.put(key.substring(MEMBERS_PREFIX.length()), Long.parseLong(properties.getProperty(key)));
+                }
+            }
+
+            return indices.isEmpty() ? null : indices;
+
+        } catch (Exception e) {
+
+            AIXM.getLogger().warn("Failed to read checkpoint file " + file.getPath() + ".", e);
+            return null;
+        }
+    }
+
+    /**
+     * Records that all members of the specified subscriber file before the
+     * specified index have been converted, taking a checkpoint if enough
+     * members have been converted since the last one.
+     *
+     * @param subscriberFile the subscriber file being loaded
+     * @param memberIndex    the index of the first member that has not been converted
+     * @throws JetwayException if the checkpoint file cannot be written
+     */
+    void boundary(SubscriberFile subscriberFile, long memberIndex) throws JetwayException {
+
+        synchronized (this) {
+
+            if (memberIndex - indices.getOrDefault(subscriberFile, 0L) < interval) {
+
+                return;
+            }
+        }
+
+        take(subscriberFile, memberIndex);
+    }
+
+    /**
+     * Records that all members of the specified subscriber file have
+     * been converted, taking a checkpoint immediately.
+     *
+     * @param subscriberFile the subscriber file being loaded
+     * @param memberCount    the number of members in the subscriber file
+     * @throws JetwayException if the checkpoint file cannot be written
+     */
+    void complete(SubscriberFile subscriberFile, long memberCount) throws JetwayException {
+
+        take(subscriberFile, memberCount);
+    }
+
+    /**
+     * Deletes the checkpoint file, marking the build as complete.
+     */
+    void delete() {
+
+        if (file.exists() && !file.delete()) {
+
+            AIXM.getLogger().warn("Failed to delete checkpoint file " + file.getPath() + ".");
+        }
+    }
+
+    private void take(SubscriberFile subscriberFile, long memberIndex) throws JetwayException {
+
+        // Only this subscriber file's cache writer thread adds to its caches, so they can be flushed without locking
+        Collection<Cache> fileCaches = caches.get(subscriberFile);
+        if (fileCaches != null) {
+
+            for (Cache cache : fileCaches) {
+
+                cache.flushBulkLoad();
+            }
+        }
+
+        synchronized (this) {
+
+            indices.put(subscriberFile, memberIndex);
+            write();
+        }
+    }
+
+    private void write() throws JetwayException {
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        File tempFile = new File(parent, file.getName() + ".tmp");
+
+        try {
+
+            if (!parent.exists() && !parent.mkdirs()) {
+
+                throw new IOException("Could not create directory " + parent.getPath() + ".");
+            }
+
+            Properties properties = new Properties();
+            for (Map.Entry<SubscriberFile, Long> entry : indices.entrySet()) {
+
+                properties.setProperty(MEMBERS_PREFIX + entry.getKey().getName(), Long.toString(entry.getValue()));
+            }
+
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+
+                properties.store(out, null);
+            }
+
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+
+            AIXM.getLogger().error("Failed to write checkpoint file " + file.getPath() + ".", e);
+            throw new JetwayException("Failed to write checkpoint file " + file.getPath() + ".", e);
+        }
+    }
+}
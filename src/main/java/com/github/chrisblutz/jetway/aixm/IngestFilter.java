@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import java.util.function.BiPredicate;
+
+/**
+ * This interface decides which features are kept while AIXM
+ * data is loaded into Jetway's caches.  Filters are registered
+ * for a feature class using
+ * {@link AIXM#addIngestFilter(Class, IngestFilter)}.
+ * <p>
+ * Features that are rejected are not cached or registered, and
+ * neither are any features assigned to them (i.e. the runways of
+ * a rejected airport).
+ * <p>
+ * Filters that can decide from a few values in a feature's AIXM data
+ * should be created using {@link #beforeConversion(BiPredicate, IngestFilter)},
+ * so that the features they reject are never converted.  Other filters
+ * are only checked once each feature has been loaded from its AIXM data.
+ *
+ * @param <T> the feature type
+ * @author Christopher Lutz
+ */
+@FunctionalInterface
+public interface IngestFilter<T extends AIXMLoadable> {
+
+    /**
+     * Determines if the specified feature should be kept.  This
+     * method may be called from multiple threads at once.
+     *
+     * @param feature the feature, loaded from its AIXM data
+     * @return {@code true} if the feature should be kept,
+     * {@code false} otherwise
+     */
+    boolean accept(T feature);
+
+    /**
+     * Determines if a feature should be kept based on its AIXM data,
+     * before it is converted.  This method may be called from multiple
+     * threads at once.
+     * <p>
+     * By default, this method returns {@code true}, leaving the
+     * decision to {@link #accept(AIXMLoadable)}.
+     *
+     * @param type    the type of the feature
+     * @param feature the feature's AIXM data
+     * @return {@code true} if the feature should be converted,
+     * {@code false} if it should be rejected without being converted
+     */
+    default boolean acceptAIXM(AIXMType type, AIXMFeature feature) {
+
+        return true;
+    }
+
+    /**
+     * Determines if {@link #accept(AIXMLoadable)} must be called once
+     * a feature has been converted.  Filters that make their entire
+     * decision in {@link #acceptAIXM(AIXMType, AIXMFeature)} return
+     * {@code false}, so features are not checked twice.
+     * <p>
+     * By default, this method returns {@code true}.
+     *
+     * @return {@code true} if converted features must be checked,
+     * {@code false} otherwise
+     */
+    default boolean isConversionRequired() {
+
+        return true;
+    }
+
+    /**
+     * Combines this filter with another filter, keeping only
+     * features that both filters keep.
+     *
+     * @param other the other filter
+     * @return The combined filter
+     */
+    default IngestFilter<T> and(IngestFilter<? super T> other) {
+
+        IngestFilter<T> filter = this;
+        return new IngestFilter<T>() {
+
+            @Override
+            public boolean accept(T feature) {
+
+                return filter.accept(feature) && other.accept(feature);
+            }
+
+            @Override
+            public boolean acceptAIXM(AIXMType type, AIXMFeature feature) {
+
+                return filter.acceptAIXM(type, feature) && other.acceptAIXM(type, feature);
+            }
+
+            @Override
+            public boolean isConversionRequired() {
+
+                return filter.isConversionRequired() || other.isConversionRequired();
+            }
+        };
+    }
+
+    /**
+     * Creates a filter that decides from a feature's AIXM data, before
+     * the feature is converted.  Features that it rejects are never
+     * converted.
+     * <p>
+     * The specified predicate must make the same decision as the
+     * specified filter, which is used when the filter is called with a
+     * converted feature (i.e. when it is combined with another filter
+     * that needs converted features).
+     *
+     * @param predicate the predicate to test each feature's AIXM data with
+     * @param filter    the equivalent filter for converted features
+     * @param <T>       the feature type
+     * @return The resulting filter
+     */
+    static <T extends AIXMLoadable> IngestFilter<T> beforeConversion(BiPredicate<AIXMType, AIXMFeature> predicate, IngestFilter<T> filter) {
+
+        return new IngestFilter<T>() {
+
+            @Override
+            public boolean accept(T feature) {
+
+                return filter.accept(feature);
+            }
+
+            @Override
+            public boolean acceptAIXM(AIXMType type, AIXMFeature feature) {
+
+                return predicate.test(type, feature);
+            }
+
+            @Override
+            public boolean isConversionRequired() {
+
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+/**
+ * This interface receives progress information while AIXM
+ * data is loaded into Jetway's caches.  Listeners are registered
+ * using {@link AIXM#addIngestListener(IngestListener)}.
+ * <p>
+ * Listener methods are called on the thread that is loading the
+ * AIXM data, so they should return quickly.
+ *
+ * @author Christopher Lutz
+ */
+public interface IngestListener {
+
+    /**
+     * Called periodically while members are loaded.  The interval
+     * between calls is set by {@link AIXM#setProgressInterval(long)}.
+     *
+     * @param statistics the statistics for the load so far
+     */
+    default void onProgress(IngestStatistics statistics) {
+
+    }
+
+    /**
+     * Called once all members have been loaded and the caches
+     * have been emptied to files.
+     *
+     * @param statistics the statistics for the entire load
+     */
+    default void onCompleted(IngestStatistics statistics) {
+
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import com.github.chrisblutz.jetway.aixm.io.CountingInputStream;
+import com.github.chrisblutz.jetway.caching.Cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class collects the statistics for a single load of
+ * AIXM data and reports them to the registered {@link IngestListener}s.
+ * <p>
+ * Subscriber files are loaded concurrently, so statistics may be
+ * recorded from several threads at once.  Phase times are summed
+ * across all subscriber files.
+ *
+ * @author Christopher Lutz
+ */
+final class IngestMonitor {
+
+    private static final int PROGRESS_CHECK_INTERVAL = 256;
+
+    private List<IngestListener> listeners;
+    private Collection<Cache> caches;
+    private long progressIntervalNanos;
+
+    private long startNanos;
+    private AtomicLong lastProgressNanos;
+    private AtomicLongArray phaseNanos = new AtomicLongArray(IngestPhase.values().length);
+    private AtomicLong membersProcessed = new AtomicLong();
+    private long initialEntriesWritten;
+    private List<CountingInputStream> streams = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new monitor and starts timing the load.
+     *
+     * @param listeners        the listeners to report to
+     * @param caches           the caches being loaded
+     * @param progressInterval the interval between progress reports, in milliseconds
+     */
+    IngestMonitor(List<IngestListener> listeners, Collection<Cache> caches, long progressInterval) {
+
+        this.listeners = listeners;
+        this.caches = caches;
+        this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(progressInterval);
+
+        initialEntriesWritten = countEntriesWritten();
+        startNanos = System.nanoTime();
+        lastProgressNanos = new AtomicLong(startNanos);
+    }
+
+    /**
+     * Adds a stream that a subscriber file is read from.
+     *
+     * @param stream the subscriber file stream
+     */
+    void addStream(CountingInputStream stream) {
+
+        streams.add(stream);
+    }
+
+    /**
+     * Adds time spent in the specified phase.
+     *
+     * @param phase the phase
+     * @param nanos the time spent, in nanoseconds
+     */
+    void addTime(IngestPhase phase, long nanos) {
+
+        phaseNanos.addAndGet(phase.ordinal(), nanos);
+    }
+
+    /**
+     * Adds the time since {@code startNanos} to the specified phase.
+     *
+     * @param phase      the phase
+     * @param startNanos the time the phase started, from {@link System#nanoTime()}
+     */
+    void record(IngestPhase phase, long startNanos) {
+
+        addTime(phase, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records that a member has been processed, reporting
+     * progress if the progress interval has elapsed.
+     */
+    void memberProcessed() {
+
+        long processed = membersProcessed.incrementAndGet();
+
+        if (processed % PROGRESS_CHECK_INTERVAL == 0 && !listeners.isEmpty()) {
+
+            long now = System.nanoTime();
+            long last = lastProgressNanos.get();
+
+            // Only one thread reports each interval's progress
+            if (now - last >= progressIntervalNanos && lastProgressNanos.compareAndSet(last, now)) {
+
+                IngestStatistics statistics = snapshot();
+                for (IngestListener listener : listeners) {
+
+                    listener.onProgress(statistics);
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the load, reporting the final statistics.
+     *
+     * @return The final statistics
+     */
+    IngestStatistics complete() {
+
+        IngestStatistics statistics = snapshot();
+        for (IngestListener listener : listeners) {
+
+            listener.onCompleted(statistics);
+        }
+
+        return statistics;
+    }
+
+    private IngestStatistics snapshot() {
+
+        long[] phases = new long[phaseNanos.length()];
+        for (int i = 0; i < phases.length; i++) {
+
+            phases[i] = phaseNanos.get(i);
+        }
+
+        long bytesRead = 0;
+        for (CountingInputStream stream : streams) {
+
+            bytesRead += stream.getCount();
+        }
+
+        return new IngestStatistics(System.nanoTime() - startNanos, phases, membersProcessed.get(), bytesRead, countEntriesWritten() - initialEntriesWritten);
+    }
+
+    private long countEntriesWritten() {
+
+        long count = 0;
+        for (Cache cache : caches) {
+
+            count += cache.getWriteCount();
+        }
+
+        return count;
+    }
+}
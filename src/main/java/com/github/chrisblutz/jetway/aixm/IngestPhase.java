@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+/**
+ * Represents the phases of loading AIXM data into Jetway's caches.
+ * Since members are streamed from the NASR file, the parse, conversion
+ * and cache write phases are interleaved; the time reported for each
+ * phase is the total time spent in that phase.
+ *
+ * @author Christopher Lutz
+ */
+public enum IngestPhase {
+
+    /**
+     * Opening the NASR file and locating the subscriber
+     * file within it.
+     */
+    EXTRACTION,
+
+    /**
+     * Reading, decompressing and parsing members from
+     * the subscriber file.
+     */
+    PARSE,
+
+    /**
+     * Converting members into Jetway's features and assigning them
+     * to one another, including time spent waiting for the worker
+     * threads.
+     */
+    CONVERSION,
+
+    /**
+     * Adding converted features to their caches, including writing
+     * the entries evicted from them and removing stale entries.  This
+     * is done on a separate cache writer thread for each subscriber file.
+     */
+    CACHE_WRITE,
+
+    /**
+     * Waiting for space in a full cache write queue, meaning that
+     * conversion is outpacing cache writes.
+     */
+    CACHE_WRITE_WAIT,
+
+    /**
+     * Emptying the caches to files after all members have been loaded.
+     */
+    EMPTY_CACHE
+}
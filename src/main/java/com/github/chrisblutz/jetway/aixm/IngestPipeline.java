@@ -0,0 +1,359 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import com.github.chrisblutz.jetway.caching.Cache;
+import com.github.chrisblutz.jetway.exceptions.JetwayException;
+import gov.faa.aixm51.SubscriberFileComponentPropertyType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class converts AIXM subscriber file members into Jetway's
+ * features using a pool of worker threads.
+ * <p>
+ * Members are submitted in document order.  Each worker resolves its
+ * member, loads it into a new instance of the member's type, and
+ * resolves the {@link AIXMReference} to the feature it belongs to.
+ * The converted members are then handed to an {@link AssociationLinker}
+ * on the submitting thread, which assigns features to the features they
+ * refer to through {@link AIXMAssignable}.  Since associations are
+ * resolved by AIXM ID, they do not depend on the order members are
+ * converted or linked in.  Types that do not clear the existing instance
+ * of their class are loaded into the feature they refer to by the linker.
+ * <p>
+ * The linker is flushed whenever a feature that is not assigned to
+ * another feature starts, since subscriber files group each feature with
+ * the features assigned to it, and when the pipeline finishes.  Flushed
+ * features are handed to a {@link CacheWriteQueue}, which adds them to
+ * their caches on a separate thread, so the ordered stage only blocks on
+ * cache writes when the write queue is full.
+ * <p>
+ * Features rejected by the registered {@link IngestFilter}s, and
+ * features assigned to them, are never added to their caches.  Filters
+ * are checked against each member's AIXM data before it is converted,
+ * so features rejected by filters that do not need converted features
+ * are never loaded from their AIXM data.
+ *
+ * @author Christopher Lutz
+ */
+final class IngestPipeline implements AutoCloseable {
+
+    private static final int MEMBERS_PER_THREAD = 4;
+
+    private SubscriberFile subscriberFile;
+    private MemberDispatcher dispatcher;
+    private Map<AIXMType, Class<? extends AIXMLoadable>> types;
+    private Map<AIXMType, Boolean> clearTypes;
+    private Map<Class<? extends AIXMLoadable>, Cache> caches;
+    private Map<Class<? extends AIXMLoadable>, List<IngestFilter>> filters;
+    private IngestMonitor monitor;
+    private IngestCheckpoint checkpoint;
+    private long memberIndex;
+    private CacheWriteQueue writeQueue;
+
+    private ExecutorService workers;
+    private int maxPending;
+    private Deque<Future<ConvertedMember>> pending = new ArrayDeque<>();
+
+    private AssociationLinker linker;
+
+    /**
+     * Creates a new pipeline for the specified subscriber file and
+     * registered types.
+     *
+     * @param subscriberFile the subscriber file that members are read from
+     * @param dispatcher     the dispatcher used to resolve members
+     * @param types          the registered types and their feature classes
+     * @param clearTypes     whether or not each registered type clears the existing
+     *                       instance of its feature class
+     * @param caches         the caches for each feature class
+     * @param filters        the filters for each feature class
+     * @param monitor        the monitor to record statistics with
+     * @param checkpoint     the checkpoint to record progress with, or {@code null}
+     *                       if progress should not be recorded
+     * @param startIndex     the index of the first member that will be submitted
+     * @param threads        the number of worker threads to convert members with
+     * @param queueCapacity  the maximum number of features waiting to be
+     *                       added to their caches
+     */
+    IngestPipeline(SubscriberFile subscriberFile, MemberDispatcher dispatcher, Map<AIXMType, Class<? extends AIXMLoadable>> types, Map<AIXMType, Boolean> clearTypes, Map<Class<? extends AIXMLoadable>, Cache> caches, Map<Class<? extends AIXMLoadable>, List<IngestFilter>> filters, IngestMonitor monitor, IngestCheckpoint checkpoint, long startIndex, int threads, int queueCapacity) {
+
+        this.subscriberFile = subscriberFile;
+        this.dispatcher = dispatcher;
+        this.types = types;
+        this.clearTypes = clearTypes;
+        this.caches = caches;
+        this.filters = filters;
+        this.monitor = monitor;
+        this.checkpoint = checkpoint;
+        this.memberIndex = startIndex;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+
+            Thread thread = new Thread(runnable, "Jetway AIXM Worker " + subscriberFile.getName() + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        maxPending = threads * MEMBERS_PER_THREAD;
+
+        writeQueue = new CacheWriteQueue(subscriberFile.getName(), queueCapacity, monitor);
+        linker = new AssociationLinker(caches);
+    }
+
+    /**
+     * Submits a member for conversion.  If too many members are already
+     * waiting to be assigned, this method assigns the oldest ones first.
+     *
+     * @param member the member to convert
+     * @throws JetwayException if an error occurs while converting or
+     *                         assigning a previously submitted member
+     */
+    void submit(SubscriberFileComponentPropertyType member) throws JetwayException {
+
+        pending.add(workers.submit(() -> convert(member)));
+
+        while (pending.size() >= maxPending) {
+
+            assign(pending.poll());
+        }
+    }
+
+    /**
+     * Waits for all submitted members to be converted and assigns them,
+     * then adds the remaining features to their caches and records that
+     * the subscriber file is complete.  This method returns once every
+     * feature has been added to its cache.
+     *
+     * @throws JetwayException if an error occurs while converting or
+     *                         assigning a member
+     */
+    void finish() throws JetwayException {
+
+        while (!pending.isEmpty()) {
+
+            assign(pending.poll());
+        }
+
+        long startNanos = System.nanoTime();
+        linker.flush(writeQueue, true);
+        if (checkpoint != null) {
+
+            long memberCount = memberIndex;
+            writeQueue.submit(() -> checkpoint.complete(subscriberFile, memberCount));
+        }
+        writeQueue.finish();
+        monitor.record(IngestPhase.CACHE_WRITE_WAIT, startNanos);
+    }
+
+    /**
+     * Stops the worker and writer threads.  Any members that have not
+     * yet been assigned, and any features that have not yet been added
+     * to their caches, are discarded.
+     */
+    @Override
+    public void close() {
+
+        workers.shutdownNow();
+        pending.clear();
+        writeQueue.close();
+    }
+
+    private ConvertedMember convert(SubscriberFileComponentPropertyType member) throws JetwayException {
+
+        MemberDispatcher.ResolvedMember resolved = dispatcher.resolve(member);
+        if (resolved == null) {
+
+            return null;
+        }
+
+        AIXMType type = resolved.getType();
+        AIXMReference reference = type.getReference();
+        String referenceId = reference == null ? null : reference.resolve(resolved.getId(), resolved.getFeature());
+        if (!clearTypes.get(type)) {
+
+            return new ConvertedMember(resolved, null, false, referenceId);
+        }
+
+        AIXMLoadable loadable = newInstance(type);
+        boolean accepted = accepts(type, resolved.getFeature());
+        if (accepted) {
+
+            loadable.loadFromAIXM(type, resolved.getFeature());
+            accepted = accepts(loadable);
+        }
+
+        return new ConvertedMember(resolved, loadable, accepted, referenceId);
+    }
+
+    private void assign(Future<ConvertedMember> future) throws JetwayException {
+
+        long startNanos = System.nanoTime();
+        long waitNanos = 0;
+        long index = memberIndex++;
+
+        ConvertedMember converted;
+        try {
+
+            converted = future.get();
+
+        } catch (ExecutionException e) {
+
+            AIXM.getLogger().error("Failed to load AIXM member.", e.getCause());
+            throw new JetwayException("Failed to load AIXM member.", e.getCause());
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new JetwayException("Interrupted while loading AIXM members.", e);
+        }
+
+        if (converted == null) {
+
+            monitor.record(IngestPhase.CONVERSION, startNanos);
+            monitor.memberProcessed();
+            return;
+        }
+
+        try {
+
+            AIXMType type = converted.resolved.getType();
+            AIXMLoadable loadable = converted.loadable;
+            boolean accepted = converted.accepted;
+            if (loadable == null && type.getReference() != null) {
+
+                // Loaded into the feature it refers to once that feature is linked
+                linker.load(index, type, converted.resolved.getFeature(), converted.referenceId);
+
+            } else {
+
+                if (loadable == null) {
+
+                    loadable = newInstance(type);
+                    accepted = accepts(type, converted.resolved.getFeature());
+                    if (accepted) {
+
+                        loadable.loadFromAIXM(type, converted.resolved.getFeature());
+                        accepted = accepts(loadable);
+                    }
+                }
+
+                boolean assigned = type.getAssignmentClass() != null;
+                if (!assigned) {
+
+                    // Every feature read before a new top-level feature is complete
+                    waitNanos = linker.flush(writeQueue, false);
+                    if (checkpoint != null && linker.isEmpty()) {
+
+                        // Checkpoints are taken on the writer thread, after the features before them are added
+                        long checkpointStartNanos = System.nanoTime();
+                        writeQueue.submit(() -> checkpoint.boundary(subscriberFile, index));
+                        waitNanos += System.nanoTime() - checkpointStartNanos;
+                    }
+                }
+
+                linker.add(index, converted.resolved.getId(), loadable, accepted, assigned ? converted.referenceId : null);
+            }
+
+            monitor.addTime(IngestPhase.CACHE_WRITE_WAIT, waitNanos);
+            monitor.addTime(IngestPhase.CONVERSION, System.nanoTime() - startNanos - waitNanos);
+            monitor.memberProcessed();
+
+        } catch (JetwayException e) {
+
+            throw e;
+
+        } catch (Exception e) {
+
+            AIXM.getLogger().error("Failed to load AIXM member.", e);
+            throw new JetwayException("Failed to load AIXM member.", e);
+        }
+    }
+
+    private boolean accepts(AIXMType type, AIXMFeature feature) {
+
+        List<IngestFilter> typeFilters = filters.get(types.get(type));
+        if (typeFilters != null) {
+
+            for (IngestFilter filter : typeFilters) {
+
+                if (!filter.acceptAIXM(type, feature)) {
+
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean accepts(AIXMLoadable loadable) {
+
+        List<IngestFilter> typeFilters = filters.get(loadable.getClass());
+        if (typeFilters != null) {
+
+            for (IngestFilter filter : typeFilters) {
+
+                if (filter.isConversionRequired() && !filter.accept(loadable)) {
+
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private AIXMLoadable newInstance(AIXMType type) throws JetwayException {
+
+        try {
+
+            return types.get(type).newInstance();
+
+        } catch (Exception e) {
+
+            AIXM.getLogger().error("Could not create instance of type " + types.get(type).getName() + ".", e);
+            throw new JetwayException("Could not create instance of type " + types.get(type).getName() + ".", e);
+        }
+    }
+
+    private static final class ConvertedMember {
+
+        private MemberDispatcher.ResolvedMember resolved;
+        private AIXMLoadable loadable;
+        private boolean accepted;
+        private String referenceId;
+
+        private ConvertedMember(MemberDispatcher.ResolvedMember resolved, AIXMLoadable loadable, boolean accepted, String referenceId) {
+
+            this.resolved = resolved;
+            this.loadable = loadable;
+            this.accepted = accepted;
+            this.referenceId = referenceId;
+        }
+    }
+}
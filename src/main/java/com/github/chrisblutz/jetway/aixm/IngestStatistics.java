@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a snapshot of the statistics for a load of
+ * AIXM data into Jetway's caches.
+ *
+ * @author Christopher Lutz
+ */
+public final class IngestStatistics {
+
+    private long elapsedNanos;
+    private long[] phaseNanos;
+    private long membersProcessed;
+    private long bytesRead;
+    private long entriesWritten;
+
+    IngestStatistics(long elapsedNanos, long[] phaseNanos, long membersProcessed, long bytesRead, long entriesWritten) {
+
+        this.elapsedNanos = elapsedNanos;
+        this.phaseNanos = phaseNanos;
+        this.membersProcessed = membersProcessed;
+        this.bytesRead = bytesRead;
+        this.entriesWritten = entriesWritten;
+    }
+
+    /**
+     * Gets the wall time elapsed since the load started.
+     *
+     * @param unit the unit to return the time in
+     * @return The elapsed time
+     */
+    public long getElapsedTime(TimeUnit unit) {
+
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the total wall time spent in the specified phase.
+     *
+     * @param phase the phase
+     * @param unit  the unit to return the time in
+     * @return The time spent in the phase
+     */
+    public long getPhaseTime(IngestPhase phase, TimeUnit unit) {
+
+        return unit.convert(phaseNanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of AIXM members that have been processed.
+     *
+     * @return The number of members processed
+     */
+    public long getMembersProcessed() {
+
+        return membersProcessed;
+    }
+
+    /**
+     * Gets the average number of AIXM members processed per second
+     * since the load started.
+     *
+     * @return The number of members processed per second
+     */
+    public double getMembersPerSecond() {
+
+        return elapsedNanos == 0 ? 0 : membersProcessed / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Gets the number of (decompressed) bytes read from the
+     * subscriber file.
+     *
+     * @return The number of bytes read
+     */
+    public long getBytesRead() {
+
+        return bytesRead;
+    }
+
+    /**
+     * Gets the number of cache entries that have been written to files.
+     * Entries whose contents were unchanged and did not need to be
+     * rewritten are not counted.
+     *
+     * @return The number of cache entries written
+     */
+    public long getEntriesWritten() {
+
+        return entriesWritten;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(membersProcessed).append(" members in ").append(getElapsedTime(TimeUnit.MILLISECONDS)).append(" ms (");
+        builder.append(String.format("%.1f", getMembersPerSecond())).append(" members/s), ");
+        builder.append(bytesRead).append(" bytes read, ").append(entriesWritten).append(" entries written");
+
+        for (IngestPhase phase : IngestPhase.values()) {
+
+            builder.append(", ").append(phase.name()).append('=').append(getPhaseTime(phase, TimeUnit.MILLISECONDS)).append(" ms");
+        }
+
+        return builder.toString();
+    }
+}
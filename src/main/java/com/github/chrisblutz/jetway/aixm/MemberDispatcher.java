@@ -0,0 +1,297 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import com.github.chrisblutz.jetway.exceptions.AIXMDataException;
+import gov.faa.aixm51.SubscriberFileComponentPropertyType;
+import org.apache.xmlbeans.XmlCursor;
+import org.apache.xmlbeans.XmlObject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class resolves AIXM subscriber file members to their
+ * registered {@link AIXMType}s.  All of the reflective lookups
+ * needed to do so are performed once when a type is registered,
+ * so resolving a member only requires a lookup by element name
+ * and a comparison of the member's ID against the registered
+ * ID prefixes.
+ * <p>
+ * Each member resolves to at most one type.  A type registered with an
+ * ID prefix takes precedence over a type registered without one.  Since
+ * a member without an ID cannot match any ID prefix, it only resolves to
+ * the type registered without an ID prefix for its feature, and is
+ * skipped if there is none.
+ *
+ * @author Christopher Lutz
+ */
+final class MemberDispatcher {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("([a-zA-Z0-9_]+)\\[id=([a-zA-Z0-9_]+)]");
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private Map<String, FeatureDispatch> features = new HashMap<>();
+
+    /**
+     * Registers the specified type, compiling the accessors
+     * needed to extract its features and time slices.
+     *
+     * @param type the type to register
+     * @throws AIXMDataException if the feature named by the type's
+     *                           identifier does not exist
+     */
+    void register(AIXMType type) {
+
+        String featureName = type.getIdentifier();
+        String idPrefix = null;
+        Matcher m = ID_PATTERN.matcher(featureName);
+        if (m.matches()) {
+
+            featureName = m.group(1);
+            idPrefix = m.group(2);
+        }
+
+        FeatureDispatch dispatch = features.get(featureName);
+        if (dispatch == null) {
+
+            dispatch = new FeatureDispatch(featureName);
+            features.put(featureName, dispatch);
+        }
+
+        dispatch.register(idPrefix, type);
+    }
+
+    /**
+     * Resolves the specified member to its registered type
+     * and extracts its time slice.
+     *
+     * @param member the member to resolve
+     * @return The resolved member, or {@code null} if the member
+     * does not correspond to a registered type, including members
+     * without an ID whose feature only has types with ID prefixes
+     * @throws AIXMDataException if the member's time slice cannot be extracted
+     */
+    ResolvedMember resolve(SubscriberFileComponentPropertyType member) {
+
+        String featureName;
+        XmlObject feature;
+
+        XmlCursor cursor = member.newCursor();
+        try {
+
+            if (!cursor.toFirstChild()) {
+
+                return null;
+            }
+
+            featureName = cursor.getName().getLocalPart();
+            feature = cursor.getObject();
+
+        } finally {
+
+            cursor.dispose();
+        }
+
+        FeatureDispatch dispatch = features.get(featureName);
+        if (dispatch == null) {
+
+            return null;
+        }
+
+        return dispatch.resolve(feature);
+    }
+
+    private static MethodHandle compileAccessor(Class<?> type, String methodName) throws ReflectiveOperationException {
+
+        return MethodHandles.publicLookup().unreflect(type.getMethod(methodName)).asType(ACCESSOR_TYPE);
+    }
+
+    private static boolean matchesIdPrefix(String id, String prefix) {
+
+        // Equivalent to matching the pattern PREFIX_[0-9_]+
+        if (id.length() < prefix.length() + 2 || !id.startsWith(prefix) || id.charAt(prefix.length()) != '_') {
+
+            return false;
+        }
+
+        for (int i = prefix.length() + 1; i < id.length(); i++) {
+
+            char c = id.charAt(i);
+            if (c != '_' && (c < '0' || c > '9')) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Represents a subscriber file member that has been resolved
+     * to its registered type.
+     */
+    static final class ResolvedMember {
+
+        private AIXMType type;
+        private String id;
+        private AIXMFeature feature;
+
+        private ResolvedMember(AIXMType type, String id, AIXMFeature feature) {
+
+            this.type = type;
+            this.id = id;
+            this.feature = feature;
+        }
+
+        /**
+         * Gets the type that this member resolved to.
+         *
+         * @return The resolved type
+         */
+        AIXMType getType() {
+
+            return type;
+        }
+
+        /**
+         * Gets the AIXM ID of this member's feature.
+         *
+         * @return The feature ID, or {@code null} if the feature
+         * does not have one
+         */
+        String getId() {
+
+            return id;
+        }
+
+        /**
+         * Gets the time slice of this member's feature.
+         *
+         * @return The feature's time slice
+         */
+        AIXMFeature getFeature() {
+
+            return feature;
+        }
+    }
+
+    private static final class FeatureDispatch {
+
+        private String featureName;
+        private MethodHandle getId, getTimeSliceArray, getTimeSlice;
+
+        private AIXMType defaultType = null;
+        private List<String> idPrefixes = new ArrayList<>();
+        private List<AIXMType> prefixedTypes = new ArrayList<>();
+
+        private FeatureDispatch(String featureName) {
+
+            this.featureName = featureName;
+
+            try {
+
+                Class<?> featureType = SubscriberFileComponentPropertyType.class.getMethod("get" + featureName).getReturnType();
+                getId = compileAccessor(featureType, "getId");
+
+                Class<?> timeSliceArrayType = featureType.getMethod("getTimeSliceArray").getReturnType();
+                getTimeSliceArray = compileAccessor(featureType, "getTimeSliceArray");
+                getTimeSlice = compileAccessor(timeSliceArrayType.getComponentType(), "get" + featureName + "TimeSlice");
+
+            } catch (ReflectiveOperationException e) {
+
+                AIXM.getLogger().error("Could not compile accessors for AIXM feature " + featureName + ".", e);
+                throw new AIXMDataException("Could not compile accessors for AIXM feature " + featureName + ".");
+            }
+        }
+
+        private void register(String idPrefix, AIXMType type) {
+
+            if (idPrefix == null) {
+
+                defaultType = type;
+                return;
+            }
+
+            int existing = idPrefixes.indexOf(idPrefix);
+            if (existing >= 0) {
+
+                prefixedTypes.set(existing, type);
+
+            } else {
+
+                idPrefixes.add(idPrefix);
+                prefixedTypes.add(type);
+            }
+        }
+
+        private ResolvedMember resolve(Object feature) {
+
+            try {
+
+                Object idObject = getId.invokeExact(feature);
+                String id = idObject == null ? null : idObject.toString();
+
+                AIXMType type = defaultType;
+                if (id != null) {
+
+                    for (int i = 0; i < idPrefixes.size(); i++) {
+
+                        if (matchesIdPrefix(id, idPrefixes.get(i))) {
+
+                            type = prefixedTypes.get(i);
+                            break;
+                        }
+                    }
+                }
+
+                if (type == null) {
+
+                    return null;
+                }
+
+                Object timeSliceProperty = ((Object[]) getTimeSliceArray.invokeExact(feature))[0];
+                Object timeSlice = getTimeSlice.invokeExact(timeSliceProperty);
+
+                return new ResolvedMember(type, id, new AIXMFeature(timeSlice, featureName));
+
+            } catch (WrongMethodTypeException | ClassCastException | IndexOutOfBoundsException e) {
+
+                AIXM.getLogger().error("Failed to extract time slice for AIXM member.", e);
+                throw new AIXMDataException("Failed to extract time slice for AIXM member.");
+
+            } catch (RuntimeException | Error e) {
+
+                throw e;
+
+            } catch (Throwable t) {
+
+                // The accessors are compiled from getters, which do not declare checked exceptions
+                AIXM.getLogger().error("Failed to extract time slice for AIXM member.", t);
+                throw new AIXMDataException("Failed to extract time slice for AIXM member.");
+            }
+        }
+    }
+}
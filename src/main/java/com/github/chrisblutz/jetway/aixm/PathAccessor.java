@@ -0,0 +1,228 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import com.github.chrisblutz.jetway.exceptions.AIXMDataException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Represents an AIXM path (i.e. {@code ARP/ElevatedPoint/Position})
+ * compiled into a chain of {@link MethodHandle}s.
+ * <p>
+ * Accessors are cached by the runtime class of the object the path
+ * starts from, so each path only needs to be compiled once per class.
+ * Each step of the path is bound to the getter on the declared return
+ * type of the previous step.  If that type does not declare the getter
+ * (i.e. for abstract AIXM elements), the step instead looks up the
+ * getter on the runtime class of the value and caches the result.
+ *
+ * @author Christopher Lutz
+ */
+final class PathAccessor {
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, PathAccessor>> ACCESSORS = new ClassValue<ConcurrentMap<String, PathAccessor>>() {
+
+        @Override
+        protected ConcurrentMap<String, PathAccessor> computeValue(Class<?> type) {
+
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private String path;
+    private Step[] steps;
+
+    private PathAccessor(Class<?> rootType, String path) {
+
+        this.path = path;
+
+        String[] names = path.replace('\\', '/').split("/");
+        steps = new Step[names.length];
+
+        Class<?> currentType = rootType;
+        for (int i = 0; i < names.length; i++) {
+
+            Method method = currentType == null ? null : findGetter(currentType, names[i]);
+            steps[i] = new Step(names[i], method);
+            currentType = method == null ? null : method.getReturnType();
+        }
+    }
+
+    /**
+     * Retrieves the compiled accessor for the specified path, starting
+     * from objects of the specified type.
+     *
+     * @param rootType the runtime type of the object the path starts from
+     * @param path     the AIXM path
+     * @return The compiled accessor
+     */
+    static PathAccessor forPath(Class<?> rootType, String path) {
+
+        ConcurrentMap<String, PathAccessor> accessors = ACCESSORS.get(rootType);
+        PathAccessor accessor = accessors.get(path);
+        if (accessor == null) {
+
+            accessor = new PathAccessor(rootType, path);
+            PathAccessor existing = accessors.putIfAbsent(path, accessor);
+            if (existing != null) {
+
+                accessor = existing;
+            }
+        }
+
+        return accessor;
+    }
+
+    /**
+     * Retrieves the value at the end of this path.
+     *
+     * @param root the object to start crawling from
+     * @return The value at the end of this path, which may be {@code null}
+     * @throws AIXMDataException if the path does not exist, or if a point
+     *                           along the path other than the last is {@code null}
+     */
+    Object access(Object root) {
+
+        Object value = root;
+        for (Step step : steps) {
+
+            if (value == null) {
+
+                AIXM.getLogger().error("Could not retrieve AIXM element for path '" + path + "' (null value before '" + step.name + "').");
+                throw new AIXMDataException("Could not retrieve AIXM element for path '" + path + "'.");
+            }
+
+            value = step.apply(value, path);
+        }
+
+        return value;
+    }
+
+    /**
+     * Retrieves the value at the end of this path, or {@code null}
+     * if any point along the path is {@code null}.
+     *
+     * @param root the object to start crawling from
+     * @return The value at the end of this path, which may be {@code null}
+     * @throws AIXMDataException if the path does not exist
+     */
+    Object accessOptional(Object root) {
+
+        Object value = root;
+        for (Step step : steps) {
+
+            if (value == null) {
+
+                return null;
+            }
+
+            value = step.apply(value, path);
+        }
+
+        return value;
+    }
+
+    private static Method findGetter(Class<?> type, String name) {
+
+        try {
+
+            return type.getMethod("get" + name);
+
+        } catch (NoSuchMethodException e) {
+
+            return null;
+        }
+    }
+
+    private static MethodHandle compile(Method method) throws IllegalAccessException {
+
+        return MethodHandles.publicLookup().unreflect(method).asType(ACCESSOR_TYPE);
+    }
+
+    private static final class Step {
+
+        private String name;
+        private MethodHandle handle = null;
+        private ConcurrentMap<Class<?>, MethodHandle> runtimeHandles = null;
+
+        private Step(String name, Method method) {
+
+            this.name = name;
+
+            if (method != null) {
+
+                try {
+
+                    handle = compile(method);
+
+                } catch (IllegalAccessException e) {
+
+                    // Fall back to looking up the getter on the runtime class
+                }
+            }
+
+            if (handle == null) {
+
+                runtimeHandles = new ConcurrentHashMap<>();
+            }
+        }
+
+        private Object apply(Object value, String path) {
+
+            try {
+
+                MethodHandle target = handle != null ? handle : getRuntimeHandle(value.getClass());
+                return target.invokeExact(value);
+
+            } catch (AIXMDataException e) {
+
+                throw e;
+
+            } catch (Throwable t) {
+
+                AIXM.getLogger().error("Could not retrieve AIXM element for path '" + path + "'.", t);
+                throw new AIXMDataException("Could not retrieve AIXM element for path '" + path + "'.");
+            }
+        }
+
+        private MethodHandle getRuntimeHandle(Class<?> type) throws ReflectiveOperationException {
+
+            MethodHandle runtimeHandle = runtimeHandles.get(type);
+            if (runtimeHandle == null) {
+
+                Method method = findGetter(type, name);
+                if (method == null) {
+
+                    throw new NoSuchMethodException(type.getName() + ".get" + name + "()");
+                }
+
+                runtimeHandle = compile(method);
+                runtimeHandles.put(type, runtimeHandle);
+            }
+
+            return runtimeHandle;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents one of the AIXM subscriber files distributed in the
+ * NASR subscription file.
+ * <p>
+ * These are based on the name of the dataset they contain
+ * (i.e. {@code APT} for airports), and are stored in the NASR file as
+ * {@code NAME_AIXM.xml} within a zip file named {@code NAME_AIXM.zip}.
+ * Each {@link AIXMType} is registered to the subscriber file its
+ * features are read from.
+ *
+ * @author Christopher Lutz
+ */
+public class SubscriberFile {
+
+    private static Map<String, SubscriberFile> subscriberFileMap = new HashMap<>();
+
+    private String name;
+
+    private SubscriberFile(String name) {
+
+        this.name = name;
+    }
+
+    /**
+     * Retrieves the subscriber file for the specified dataset name.
+     *
+     * @param name the name of the dataset (i.e. {@code APT})
+     * @return The {@code SubscriberFile} corresponding to the name
+     */
+    public static SubscriberFile forName(String name) {
+
+        return subscriberFileMap.computeIfAbsent(name, SubscriberFile::new);
+    }
+
+    /**
+     * Retrieves the name of the dataset contained in this subscriber file.
+     *
+     * @return The dataset name
+     */
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * Retrieves the name of the zip file containing this subscriber
+     * file within the NASR file.
+     *
+     * @return The name of the zip file
+     */
+    public String getZipName() {
+
+        return name + "_AIXM.zip";
+    }
+
+    /**
+     * Retrieves the name of this subscriber file within its zip file.
+     *
+     * @return The name of the XML file
+     */
+    public String getXMLName() {
+
+        return name + "_AIXM.xml";
+    }
+
+    @Override
+    public String toString() {
+
+        return name;
+    }
+}
@@ -16,18 +16,23 @@
 
 package com.github.chrisblutz.jetway.aixm;
 
-import com.github.chrisblutz.jetway.Jetway;
+import com.github.chrisblutz.jetway.Dataset;
 import com.github.chrisblutz.jetway.features.Airport;
 import com.github.chrisblutz.jetway.features.Runway;
 import com.github.chrisblutz.jetway.features.RunwayEnd;
 
 /**
- * This class contains Jetway's default {@link AIXMType} instances.
+ * This class contains Jetway's default {@link AIXMType} and {@link SubscriberFile} instances.
  *
  * @author Christopher Lutz
  */
 public final class Types {
 
+    /**
+     * This {@link SubscriberFile} contains airport, heliport and runway features
+     */
+    public static final SubscriberFile AIRPORT_FILE = SubscriberFile.forName("APT");
+
     /**
      * This {@link AIXMType} corresponds to airports and heliports
      */
@@ -35,30 +40,37 @@ public final class Types {
     /**
      * This {@link AIXMType} corresponds to general runway information
      */
-    public static final AIXMType RUNWAY_TYPE = AIXMType.forIdentifier("Runway[id=RWY]", Airport.class);
+    public static final AIXMType RUNWAY_TYPE = AIXMType.forIdentifier("Runway[id=RWY]", Airport.class, AIXMReference.forLink("AssociatedAirportHeliport"));
     /**
      * This {@link AIXMType} corresponds to the base end of runways
      */
-    public static final AIXMType RUNWAY_BASE_END_TYPE = AIXMType.forIdentifier("Runway[id=RWY_BASE_END]", Runway.class);
+    public static final AIXMType RUNWAY_BASE_END_TYPE = AIXMType.forIdentifier("Runway[id=RWY_BASE_END]", Runway.class, AIXMReference.forIdentifier("RWY_BASE_END", "RWY"));
     /**
      * This {@link AIXMType} corresponds to the reciprocal end of runways
      */
-    public static final AIXMType RUNWAY_RECIPROCAL_END_TYPE = AIXMType.forIdentifier("Runway[id=RWY_RECIPROCAL_END]", Runway.class);
-    public static final AIXMType RUNWAY_DIRECTION_TYPE = AIXMType.forIdentifier("RunwayDirection");
+    public static final AIXMType RUNWAY_RECIPROCAL_END_TYPE = AIXMType.forIdentifier("Runway[id=RWY_RECIPROCAL_END]", Runway.class, AIXMReference.forIdentifier("RWY_RECIPROCAL_END", "RWY"));
+    /**
+     * This {@link AIXMType} corresponds to the direction data of runway ends,
+     * which is loaded into the runway end it refers to
+     */
+    public static final AIXMType RUNWAY_DIRECTION_TYPE = AIXMType.forIdentifier("RunwayDirection", null, AIXMReference.forLink("UsedRunway"));
 
     private Types() {
 
     }
 
     /**
-     * This method defines the default {@link AIXMType} instances used by Jetway.
+     * This method defines the default {@link AIXMType} instances used by Jetway,
+     * loading features into the caches of the specified {@link Dataset}.
+     *
+     * @param dataset the dataset being loaded
      */
-    public static void defineTypes() {
+    public static void defineTypes(Dataset dataset) {
 
-        AIXM.registerType(AIRPORT_TYPE, Airport.class, Jetway.getAirportCache(), true);
-        AIXM.registerType(RUNWAY_TYPE, Runway.class, Jetway.getRunwayCache(), true);
-        AIXM.registerType(RUNWAY_BASE_END_TYPE, RunwayEnd.class, null, true);
-        AIXM.registerType(RUNWAY_RECIPROCAL_END_TYPE, RunwayEnd.class, null, true);
-        AIXM.registerType(RUNWAY_DIRECTION_TYPE, RunwayEnd.class, null, false);
+        AIXM.registerType(AIRPORT_FILE, AIRPORT_TYPE, Airport.class, dataset.getAirportCache(), true);
+        AIXM.registerType(AIRPORT_FILE, RUNWAY_TYPE, Runway.class, dataset.getRunwayCache(), true);
+        AIXM.registerType(AIRPORT_FILE, RUNWAY_BASE_END_TYPE, RunwayEnd.class, null, true);
+        AIXM.registerType(AIRPORT_FILE, RUNWAY_RECIPROCAL_END_TYPE, RunwayEnd.class, null, true);
+        AIXM.registerType(AIRPORT_FILE, RUNWAY_DIRECTION_TYPE, RunwayEnd.class, null, false);
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.converters;
+
+import aero.aixm.v5.CodeYesNoType;
+import aero.aixm.v5.impl.CodeYesNoTypeImpl;
+import com.github.chrisblutz.jetway.aixm.AIXMConverter;
+
+/**
+ * Represents a converter for AIXM yes/no codes, which are converted
+ * into {@code boolean} values.  In addition to the boxed values returned
+ * by {@link #convert(Object)}, this converter can produce primitive
+ * values through {@link #convertBoolean(Object)}, which does not box.
+ *
+ * @author Christopher Lutz
+ */
+public class BooleanAIXMConverter extends AIXMConverter<Boolean> {
+
+    private static final Class<?>[] ACCEPTED_TYPES = new Class<?>[]{CodeYesNoType.class};
+
+    /**
+     * Converts the specified AIXM object into a {@link Boolean} value.
+     *
+     * @param value the AIXM (or native Java) object to convert.
+     *              This object is guaranteed to be either {@code null}
+     *              or an instance of one of the classes specified by
+     *              {@link #acceptedTypes()}.
+     * @return The converted value
+     */
+    @Override
+    public Boolean convert(Object value) {
+
+        return convertBoolean(value);
+    }
+
+    /**
+     * Converts the specified AIXM object into a {@code boolean} value.
+     * Values other than a yes code, including {@code null}, are
+     * converted to {@code false}.
+     *
+     * @param value the AIXM (or native Java) object to convert.
+     *              This object is guaranteed to be either {@code null}
+     *              or an instance of one of the classes specified by
+     *              {@link #acceptedTypes()}.
+     * @return The converted value
+     */
+    public boolean convertBoolean(Object value) {
+
+        if (value instanceof CodeYesNoType) {
+
+            return ((CodeYesNoType) value).getObjectValue() == CodeYesNoTypeImpl.YES;
+
+        } else {
+
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves the types accepted by this converter as an array.
+     *
+     * @return A {@code Class[]} of types accepted by this converter
+     */
+    @Override
+    public Class<?>[] acceptedTypes() {
+
+        return ACCEPTED_TYPES;
+    }
+}
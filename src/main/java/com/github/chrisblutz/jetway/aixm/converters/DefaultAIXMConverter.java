@@ -82,7 +82,14 @@ public class DefaultAIXMConverter<T> extends AIXMConverter<T> {
         return DEFAULT_ACCEPTED_TYPES;
     }
 
-    private static String getDefaultTypeAsString(Object value) {
+    /**
+     * Retrieves the text of the specified AIXM (or native Java) object.
+     *
+     * @param value the AIXM (or native Java) object
+     * @return The text of the object, or {@code null} if the object
+     * is {@code null} or not one of the default accepted types
+     */
+    static String getDefaultTypeAsString(Object value) {
 
         if (value instanceof XmlAnySimpleType) {
 
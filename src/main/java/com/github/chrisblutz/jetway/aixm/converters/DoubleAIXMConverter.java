@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.converters;
+
+/**
+ * Represents a converter for generic AIXM types that can be converted
+ * into {@code double} values.  In addition to the boxed values returned
+ * by {@link #convert(Object)}, this converter can produce primitive
+ * values through {@link #convertDouble(Object)}, which parses the AIXM
+ * text directly without boxing or intermediate objects.
+ *
+ * @author Christopher Lutz
+ */
+public class DoubleAIXMConverter extends DefaultAIXMConverter<Double> {
+
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private double defaultValue;
+
+    /**
+     * Creates a new {@code DoubleAIXMConverter} with the specified
+     * default value.
+     *
+     * @param defaultValue the default value
+     */
+    public DoubleAIXMConverter(double defaultValue) {
+
+        super(defaultValue, string -> parseDouble(string, 0, string.length()));
+
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Converts the specified AIXM object into a {@code double} value.
+     *
+     * @param value the AIXM (or native Java) object to convert.
+     *              This object is guaranteed to be either {@code null}
+     *              or an instance of one of the classes specified by
+     *              {@link #acceptedTypes()}.
+     * @return The converted value
+     */
+    public double convertDouble(Object value) {
+
+        String string = getDefaultTypeAsString(value);
+        if (string == null) {
+
+            return defaultValue;
+
+        } else {
+
+            return parseDouble(string, 0, string.length());
+        }
+    }
+
+    /**
+     * Parses a {@code double} value from the specified range of characters,
+     * ignoring leading and trailing whitespace.
+     * <p>
+     * Decimal values with at most 15 significant digits and small exponents
+     * (which covers the values found in AIXM data) are parsed directly,
+     * and are exact because both the digits and the power of ten are exactly
+     * representable as {@code double} values.  Any other value is parsed using
+     * {@link Double#parseDouble(String)}.
+     *
+     * @param text  the characters to parse
+     * @param start the index of the first character to parse
+     * @param end   the index after the last character to parse
+     * @return The parsed value
+     * @throws NumberFormatException if the characters do not contain a valid number
+     */
+    public static double parseDouble(CharSequence text, int start, int end) {
+
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+
+            start++;
+        }
+
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+
+            end--;
+        }
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long digits = 0;
+        int digitCount = 0;
+        int scale = 0;
+        boolean seenDigit = false, seenPoint = false;
+        for (; i < end; i++) {
+
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+
+                seenDigit = true;
+                if (digits != 0 || c != '0') {
+
+                    if (++digitCount > MAX_EXACT_DIGITS) {
+
+                        return parseSlow(text, start, end);
+                    }
+                }
+
+                digits = digits * 10 + (c - '0');
+                if (seenPoint) {
+
+                    scale--;
+                }
+
+            } else if (c == '.' && !seenPoint) {
+
+                seenPoint = true;
+
+            } else {
+
+                break;
+            }
+        }
+
+        if (!seenDigit) {
+
+            return parseSlow(text, start, end);
+        }
+
+        if (i < end) {
+
+            char c = text.charAt(i);
+            if (c != 'e' && c != 'E') {
+
+                return parseSlow(text, start, end);
+            }
+
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+
+            if (i == end) {
+
+                return parseSlow(text, start, end);
+            }
+
+            int exponent = 0;
+            for (; i < end; i++) {
+
+                c = text.charAt(i);
+                if (c < '0' || c > '9' || exponent > POWERS_OF_TEN.length * 2) {
+
+                    return parseSlow(text, start, end);
+                }
+
+                exponent = exponent * 10 + (c - '0');
+            }
+
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        double value;
+        if (digits == 0) {
+
+            value = 0;
+
+        } else if (scale >= 0 && scale < POWERS_OF_TEN.length) {
+
+            value = digits * POWERS_OF_TEN[scale];
+
+        } else if (scale < 0 && -scale < POWERS_OF_TEN.length) {
+
+            value = digits / POWERS_OF_TEN[-scale];
+
+        } else {
+
+            return parseSlow(text, start, end);
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static double parseSlow(CharSequence text, int start, int end) {
+
+        return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.converters;
+
+/**
+ * Represents a converter for generic AIXM types that can be converted
+ * into {@code int} values.  In addition to the boxed values returned
+ * by {@link #convert(Object)}, this converter can produce primitive
+ * values through {@link #convertInteger(Object)}, which does not box.
+ *
+ * @author Christopher Lutz
+ */
+public class IntegerAIXMConverter extends DefaultAIXMConverter<Integer> {
+
+    private int defaultValue;
+
+    /**
+     * Creates a new {@code IntegerAIXMConverter} with the specified
+     * default value.
+     *
+     * @param defaultValue the default value
+     */
+    public IntegerAIXMConverter(int defaultValue) {
+
+        super(defaultValue, Integer::parseInt);
+
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Converts the specified AIXM object into an {@code int} value.
+     *
+     * @param value the AIXM (or native Java) object to convert.
+     *              This object is guaranteed to be either {@code null}
+     *              or an instance of one of the classes specified by
+     *              {@link #acceptedTypes()}.
+     * @return The converted value
+     */
+    public int convertInteger(Object value) {
+
+        String string = getDefaultTypeAsString(value);
+        if (string == null) {
+
+            return defaultValue;
+
+        } else {
+
+            return Integer.parseInt(string);
+        }
+    }
+}
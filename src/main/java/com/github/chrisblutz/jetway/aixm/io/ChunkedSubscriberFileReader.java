@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.io;
+
+import gov.faa.aixm51.SubscriberFileComponentPropertyType;
+import org.apache.xmlbeans.XmlException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class reads the members of an AIXM subscriber file in
+ * document order, like {@link SubscriberFileReader}, but parses
+ * them on a pool of threads.
+ * <p>
+ * The underlying stream is split into chunks of members at
+ * {@code Member} element boundaries without being parsed.  Each chunk
+ * is wrapped with the XML declaration and root start tag of the file,
+ * so it is a standalone document with the same namespaces, and is
+ * parsed by a {@link SubscriberFileReader} on one of the parser
+ * threads.  Chunks are parsed ahead of the caller, up to a fixed
+ * number of chunks per thread, so memory use stays bounded.
+ *
+ * @author Christopher Lutz
+ */
+public class ChunkedSubscriberFileReader implements Closeable {
+
+    private static final int MEMBERS_PER_CHUNK = 64;
+    private static final int CHUNKS_PER_THREAD = 2;
+
+    private MemberSplitter splitter;
+    private ExecutorService parsers;
+    private ThreadLocal<XMLInputFactory> factories = ThreadLocal.withInitial(SubscriberFileReader::createInputFactory);
+    private int maxPending;
+
+    private Deque<Future<List<SubscriberFileComponentPropertyType>>> pending = new ArrayDeque<>();
+    private Iterator<SubscriberFileComponentPropertyType> current = Collections.emptyIterator();
+    private boolean split = false;
+
+    /**
+     * Creates a new {@code ChunkedSubscriberFileReader} that reads
+     * members from the specified stream.
+     *
+     * @param stream  the stream containing the subscriber file XML
+     * @param threads the number of threads to parse chunks with
+     * @param name    the name used for the parser threads
+     * @throws IOException        if an error occurs while reading the stream
+     * @throws XMLStreamException if the start of the document is malformed,
+     *                            or if it is not in an ASCII-compatible encoding
+     */
+    public ChunkedSubscriberFileReader(InputStream stream, int threads, String name) throws IOException, XMLStreamException {
+
+        splitter = new MemberSplitter(stream);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        parsers = Executors.newFixedThreadPool(threads, runnable -> {
+
+            Thread thread = new Thread(runnable, "Jetway AIXM Parser " + name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        maxPending = threads * CHUNKS_PER_THREAD;
+    }
+
+    /**
+     * Reads the next member from the subscriber file.
+     *
+     * @return The next member, or {@code null} if there are
+     * no members remaining
+     * @throws IOException        if an error occurs while reading the stream
+     * @throws XMLStreamException if the underlying XML is malformed
+     * @throws XmlException       if the member cannot be loaded by XMLBeans
+     */
+    public SubscriberFileComponentPropertyType next() throws IOException, XMLStreamException, XmlException {
+
+        while (!current.hasNext()) {
+
+            fill();
+            if (pending.isEmpty()) {
+
+                return null;
+            }
+
+            current = await(pending.poll()).iterator();
+        }
+
+        return current.next();
+    }
+
+    /**
+     * Skips the next member in the subscriber file.  Members that
+     * have not been split into chunks yet are skipped without
+     * being parsed.
+     *
+     * @return {@code true} if a member was skipped, {@code false}
+     * if there are no members remaining
+     * @throws IOException        if an error occurs while reading the stream
+     * @throws XMLStreamException if the underlying XML is malformed
+     * @throws XmlException       if a member that was already split
+     *                            cannot be loaded by XMLBeans
+     */
+    public boolean skip() throws IOException, XMLStreamException, XmlException {
+
+        if (current.hasNext() || !pending.isEmpty()) {
+
+            return next() != null;
+        }
+
+        return !split && splitter.next(null);
+    }
+
+    private void fill() throws IOException, XMLStreamException {
+
+        while (!split && pending.size() < maxPending) {
+
+            MemberSplitter.Bytes chunk = new MemberSplitter.Bytes(65536);
+            chunk.add(splitter.getProlog());
+
+            int count = 0;
+            while (count < MEMBERS_PER_CHUNK && splitter.next(chunk)) {
+
+                count++;
+            }
+
+            if (count < MEMBERS_PER_CHUNK) {
+
+                split = true;
+            }
+
+            if (count > 0) {
+
+                chunk.add(splitter.getEpilog());
+
+                int members = count;
+                pending.add(parsers.submit(() -> parse(chunk, members)));
+            }
+        }
+    }
+
+    private List<SubscriberFileComponentPropertyType> parse(MemberSplitter.Bytes document, int members) throws XMLStreamException, XmlException {
+
+        List<SubscriberFileComponentPropertyType> parsed = new ArrayList<>(members);
+        try (SubscriberFileReader reader = new SubscriberFileReader(document.newInputStream(), factories.get())) {
+
+            SubscriberFileComponentPropertyType member;
+            while ((member = reader.next()) != null) {
+
+                parsed.add(member);
+            }
+        }
+
+        return parsed;
+    }
+
+    private static List<SubscriberFileComponentPropertyType> await(Future<List<SubscriberFileComponentPropertyType>> future) throws IOException, XMLStreamException, XmlException {
+
+        try {
+
+            return future.get();
+
+        } catch (ExecutionException e) {
+
+            Throwable cause = e.getCause();
+            if (cause instanceof XMLStreamException) {
+
+                throw (XMLStreamException) cause;
+
+            } else if (cause instanceof XmlException) {
+
+                throw (XmlException) cause;
+
+            } else if (cause instanceof RuntimeException) {
+
+                throw (RuntimeException) cause;
+            }
+
+            throw new IOException("Failed to parse subscriber file chunk.", cause);
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing subscriber file chunk.");
+        }
+    }
+
+    /**
+     * Stops the parser threads and discards any chunks that have not
+     * been read.  This does not close the stream passed to the constructor.
+     */
+    @Override
+    public void close() {
+
+        parsers.shutdownNow();
+        pending.clear();
+        current = Collections.emptyIterator();
+    }
+}
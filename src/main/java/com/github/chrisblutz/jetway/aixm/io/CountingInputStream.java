@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This class wraps an {@link InputStream} and counts the
+ * number of bytes read from it.
+ *
+ * @author Christopher Lutz
+ */
+public class CountingInputStream extends FilterInputStream {
+
+    private volatile long count = 0;
+
+    /**
+     * Creates a new {@code CountingInputStream} wrapping
+     * the specified stream.
+     *
+     * @param in the stream to count bytes from
+     */
+    public CountingInputStream(InputStream in) {
+
+        super(in);
+    }
+
+    /**
+     * Gets the number of bytes read from this stream so far.
+     *
+     * @return The number of bytes read
+     */
+    public long getCount() {
+
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+
+        int b = super.read();
+        if (b >= 0) {
+
+            count++;
+        }
+
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        int read = super.read(b, off, len);
+        if (read > 0) {
+
+            count += read;
+        }
+
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+
+        long skipped = super.skip(n);
+        count += skipped;
+
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+
+        return false;
+    }
+}
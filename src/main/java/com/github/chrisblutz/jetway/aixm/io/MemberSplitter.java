@@ -0,0 +1,518 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.io;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class splits the raw bytes of an AIXM subscriber file at the
+ * boundaries of its {@code Member} elements without parsing them.
+ * <p>
+ * Only enough of the markup is scanned to track element depth (tags,
+ * comments, CDATA sections and processing instructions), so splitting
+ * is much cheaper than parsing.  The XML declaration and the start tag
+ * of the root element are kept so that each chunk of members can be
+ * wrapped into a standalone document that declares the same namespaces
+ * as the original file.
+ * <p>
+ * Members are recognized by their qualified name, using the prefix that
+ * the root element binds to the FAA message namespace, in the same way
+ * that {@link SubscriberFileReader} matches them.
+ * <p>
+ * Since the bytes are scanned directly, only ASCII-compatible encodings
+ * (i.e. UTF-8) are supported.
+ *
+ * @author Christopher Lutz
+ */
+final class MemberSplitter {
+
+    private static final int BUFFER_SIZE = 65536;
+    private static final byte[] XML_DECLARATION = "<?xml ".getBytes(StandardCharsets.US_ASCII);
+    private static final Pattern NAMESPACE_DECLARATION = Pattern.compile("\\sxmlns(?::([^\\s=]+))?\\s*=\\s*(['\"])(.*?)\\2");
+
+    private static final int START = 0;
+    private static final int EMPTY = 1;
+    private static final int END = 2;
+    private static final int OTHER = 3;
+
+    private InputStream stream;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0, limit = 0;
+
+    private Bytes tag = new Bytes(256);
+    private byte[] name = new byte[256];
+    private int nameLength = 0;
+
+    private byte[] memberName = null;
+    private byte[] prolog, epilog;
+    private boolean finished = false;
+
+    /**
+     * Creates a new splitter that reads from the specified stream, and
+     * reads the start of the document up to the root element.
+     *
+     * @param stream the stream containing the subscriber file XML
+     * @throws IOException        if an error occurs while reading the stream
+     * @throws XMLStreamException if the document is malformed or not
+     *                            in an ASCII-compatible encoding
+     */
+    MemberSplitter(InputStream stream) throws IOException, XMLStreamException {
+
+        this.stream = stream;
+
+        readProlog();
+    }
+
+    /**
+     * Gets the bytes that start each chunk document, which are the
+     * XML declaration (if any) and the root element's start tag.
+     *
+     * @return The start of each chunk document
+     */
+    byte[] getProlog() {
+
+        return prolog;
+    }
+
+    /**
+     * Gets the bytes that end each chunk document, which are the
+     * root element's end tag.
+     *
+     * @return The end of each chunk document
+     */
+    byte[] getEpilog() {
+
+        return epilog;
+    }
+
+    /**
+     * Reads the next member and appends its bytes to the specified
+     * buffer.  Elements other than members are skipped.
+     *
+     * @param out the buffer to append the member to, or {@code null}
+     *            to skip the member
+     * @return {@code true} if a member was read, {@code false} if there
+     * are no members remaining
+     * @throws IOException        if an error occurs while reading the stream
+     * @throws XMLStreamException if the document is malformed
+     */
+    boolean next(Bytes out) throws IOException, XMLStreamException {
+
+        while (!finished) {
+
+            // Text between the root's children is not part of any member
+            int c = read();
+            if (c != '<') {
+
+                continue;
+            }
+
+            tag.clear();
+            int kind = readTag(tag);
+            if (kind == END) {
+
+                finished = true;
+
+            } else if (kind != OTHER) {
+
+                boolean member = isMember();
+                if (member && out != null) {
+
+                    out.add(tag);
+                }
+
+                if (kind == START) {
+
+                    readContent(member ? out : null);
+                }
+
+                if (member) {
+
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void readProlog() throws IOException, XMLStreamException {
+
+        if (fill() && limit >= 2 && (buffer[0] == 0 || buffer[1] == 0 || (buffer[0] & 0xFF) == 0xFE || (buffer[0] & 0xFF) == 0xFF)) {
+
+            throw new XMLStreamException("Only ASCII-compatible encodings are supported when splitting subscriber files.");
+        }
+
+        Bytes start = new Bytes(1024);
+        while (true) {
+
+            int c = read();
+            if (c != '<') {
+
+                continue;
+            }
+
+            tag.clear();
+            int kind = readTag(tag);
+            if (kind == OTHER) {
+
+                if (tag.startsWith(XML_DECLARATION)) {
+
+                    start.add(tag);
+                }
+
+            } else if (kind == END) {
+
+                throw new XMLStreamException("Unexpected end tag before the root element of the subscriber file.");
+
+            } else {
+
+                start.add(tag);
+                memberName = getMemberName(tag);
+                finished = kind == EMPTY;
+                break;
+            }
+        }
+
+        prolog = start.toArray();
+
+        Bytes end = new Bytes(nameLength + 3);
+        end.add('<');
+        end.add('/');
+        for (int i = 0; i < nameLength; i++) {
+
+            end.add(name[i]);
+        }
+        end.add('>');
+        epilog = end.toArray();
+    }
+
+    private void readContent(Bytes out) throws IOException, XMLStreamException {
+
+        int depth = 1;
+        while (depth > 0) {
+
+            int c = read();
+            if (c != '<') {
+
+                if (out != null) {
+
+                    out.add(c);
+                }
+                continue;
+            }
+
+            int kind = readTag(out);
+            if (kind == START) {
+
+                depth++;
+
+            } else if (kind == END) {
+
+                depth--;
+            }
+        }
+    }
+
+    private int readTag(Bytes out) throws IOException, XMLStreamException {
+
+        // The opening '<' has already been read
+        add(out, '<');
+        int c = read();
+        add(out, c);
+
+        if (c == '/') {
+
+            readUntil(out, '>');
+            return END;
+
+        } else if (c == '?') {
+
+            readUntil(out, '?', '>');
+            return OTHER;
+
+        } else if (c == '!') {
+
+            readDeclaration(out);
+            return OTHER;
+        }
+
+        nameLength = 0;
+        while (c != '>' && c != '/' && !isWhitespace(c)) {
+
+            if (nameLength < name.length) {
+
+                name[nameLength++] = (byte) c;
+            }
+
+            c = read();
+            add(out, c);
+        }
+
+        int last = c;
+        int quote = 0;
+        while (c != '>' || quote != 0) {
+
+            if (!isWhitespace(c)) {
+
+                last = c;
+            }
+
+            c = read();
+            add(out, c);
+
+            if (quote != 0) {
+
+                if (c == quote) {
+
+                    quote = 0;
+                }
+
+            } else if (c == '"' || c == '\'') {
+
+                quote = c;
+            }
+        }
+
+        return last == '/' ? EMPTY : START;
+    }
+
+    private void readDeclaration(Bytes out) throws IOException, XMLStreamException {
+
+        int c = read();
+        add(out, c);
+        if (c == '-') {
+
+            add(out, read());
+            readUntil(out, '-', '-', '>');
+
+        } else if (c == '[') {
+
+            readUntil(out, ']', ']', '>');
+
+        } else {
+
+            // Document type declarations may contain an internal subset in brackets
+            int brackets = 0;
+            while (c != '>' || brackets > 0) {
+
+                c = read();
+                add(out, c);
+
+                if (c == '[') {
+
+                    brackets++;
+
+                } else if (c == ']') {
+
+                    brackets--;
+                }
+            }
+        }
+    }
+
+    private void readUntil(Bytes out, int terminator) throws IOException, XMLStreamException {
+
+        int c;
+        do {
+
+            c = read();
+            add(out, c);
+
+        } while (c != terminator);
+    }
+
+    private void readUntil(Bytes out, int... terminator) throws IOException, XMLStreamException {
+
+        // Compares the most recent bytes against the terminator, so overlapping runs like "]]]>" still match
+        int[] recent = new int[terminator.length];
+        while (true) {
+
+            int c = read();
+            add(out, c);
+
+            System.arraycopy(recent, 1, recent, 0, recent.length - 1);
+            recent[recent.length - 1] = c;
+            if (Arrays.equals(recent, terminator)) {
+
+                return;
+            }
+        }
+    }
+
+    private static byte[] getMemberName(Bytes rootTag) {
+
+        // Only the root element's declarations are used, since members are its direct children
+        String tag = new String(rootTag.toArray(), StandardCharsets.UTF_8);
+        Matcher matcher = NAMESPACE_DECLARATION.matcher(tag);
+        while (matcher.find()) {
+
+            if (matcher.group(3).equals(SubscriberFileReader.MESSAGE_NAMESPACE)) {
+
+                String prefix = matcher.group(1);
+                String name = prefix == null ? SubscriberFileReader.MEMBER_ELEMENT : prefix + ":" + SubscriberFileReader.MEMBER_ELEMENT;
+
+                return name.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isMember() {
+
+        if (memberName == null || nameLength != memberName.length) {
+
+            return false;
+        }
+
+        for (int i = 0; i < nameLength; i++) {
+
+            if (name[i] != memberName[i]) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int read() throws IOException, XMLStreamException {
+
+        if (position == limit && !fill()) {
+
+            throw new XMLStreamException("Unexpected end of subscriber file.");
+        }
+
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+
+        int count = stream.read(buffer, 0, buffer.length);
+        position = 0;
+        limit = Math.max(count, 0);
+
+        return count > 0;
+    }
+
+    private static void add(Bytes out, int c) {
+
+        if (out != null) {
+
+            out.add(c);
+        }
+    }
+
+    private static boolean isWhitespace(int c) {
+
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    /**
+     * A growable byte buffer.  Unlike {@link java.io.ByteArrayOutputStream},
+     * its methods are not synchronized, since every byte of the file
+     * passes through one.
+     */
+    static final class Bytes {
+
+        private byte[] data;
+        private int size = 0;
+
+        Bytes(int capacity) {
+
+            data = new byte[Math.max(capacity, 16)];
+        }
+
+        void add(int b) {
+
+            if (size == data.length) {
+
+                data = Arrays.copyOf(data, size * 2);
+            }
+
+            data[size++] = (byte) b;
+        }
+
+        void add(byte[] bytes) {
+
+            ensureCapacity(size + bytes.length);
+            System.arraycopy(bytes, 0, data, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void add(Bytes bytes) {
+
+            ensureCapacity(size + bytes.size);
+            System.arraycopy(bytes.data, 0, data, size, bytes.size);
+            size += bytes.size;
+        }
+
+        int size() {
+
+            return size;
+        }
+
+        void clear() {
+
+            size = 0;
+        }
+
+        boolean startsWith(byte[] prefix) {
+
+            if (size < prefix.length) {
+
+                return false;
+            }
+
+            for (int i = 0; i < prefix.length; i++) {
+
+                if (data[i] != prefix[i]) {
+
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        byte[] toArray() {
+
+            return Arrays.copyOf(data, size);
+        }
+
+        InputStream newInputStream() {
+
+            return new ByteArrayInputStream(data, 0, size);
+        }
+
+        private void ensureCapacity(int capacity) {
+
+            if (capacity > data.length) {
+
+                data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.io;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Represents a zipped FAA NASR subscription file.  AIXM subscriber
+ * files are distributed as zip files nested inside of the NASR zip
+ * file, so this class streams them directly out of the inner zip
+ * file rather than extracting either zip file to disk.
+ *
+ * @author Christopher Lutz
+ */
+public class NASRArchive implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ZipFile zipFile;
+
+    /**
+     * Opens the specified NASR zip file.
+     *
+     * @param file the location of the zipped NASR file
+     * @throws IOException if the file cannot be opened as a zip file
+     */
+    public NASRArchive(File file) throws IOException {
+
+        zipFile = new ZipFile(file);
+    }
+
+    /**
+     * Opens a stream to an XML file contained in one of the zip files
+     * nested in this archive.  Closing the returned stream closes the
+     * nested zip file, but not this archive.
+     *
+     * @param innerZipPath the path of the nested zip file within this archive
+     * @param xmlName      the name of the XML file within the nested zip file
+     * @return A stream containing the decompressed XML file
+     * @throws FileNotFoundException if either the nested zip file or the XML
+     *                               file does not exist
+     * @throws IOException           if an error occurs while reading either zip file
+     */
+    public InputStream openSubscriberFile(String innerZipPath, String xmlName) throws IOException {
+
+        ZipEntry innerZipEntry = zipFile.getEntry(innerZipPath);
+        if (innerZipEntry == null) {
+
+            throw new FileNotFoundException(innerZipPath);
+        }
+
+        ZipInputStream innerZip = new ZipInputStream(new BufferedInputStream(zipFile.getInputStream(innerZipEntry), BUFFER_SIZE));
+
+        try {
+
+            ZipEntry entry;
+            while ((entry = innerZip.getNextEntry()) != null) {
+
+                if (entry.getName().equals(xmlName)) {
+
+                    return new BufferedInputStream(innerZip, BUFFER_SIZE);
+                }
+            }
+
+        } catch (IOException e) {
+
+            innerZip.close();
+            throw e;
+        }
+
+        innerZip.close();
+        throw new FileNotFoundException(innerZipPath + "/" + xmlName);
+    }
+
+    /**
+     * Closes this archive.  Any streams opened from this
+     * archive are closed as well.
+     *
+     * @throws IOException if an error occurs while closing the zip file
+     */
+    @Override
+    public void close() throws IOException {
+
+        zipFile.close();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.io;
+
+import gov.faa.aixm51.SubscriberFileComponentPropertyType;
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlOptions;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class reads the members of an AIXM subscriber file one at
+ * a time.  Rather than loading the entire document into memory,
+ * the underlying stream is read using StAX and only the current
+ * member is converted into an XMLBeans object.  Once the caller
+ * moves on to the next member, the previous one can be discarded.
+ *
+ * @author Christopher Lutz
+ */
+public class SubscriberFileReader implements Closeable {
+
+    static final String MESSAGE_NAMESPACE = "http://www.faa.gov/aixm5.1";
+    static final String MEMBER_ELEMENT = "Member";
+
+    private static final QName MEMBER_NAME = new QName(MESSAGE_NAMESPACE, MEMBER_ELEMENT);
+
+    private XMLStreamReader reader;
+    private XmlOptions options = null;
+    private int depth = 0;
+
+    /**
+     * Creates a new {@code SubscriberFileReader} that reads
+     * members from the specified stream.
+     *
+     * @param stream the stream containing the subscriber file XML
+     * @throws XMLStreamException if the stream cannot be opened for reading
+     */
+    public SubscriberFileReader(InputStream stream) throws XMLStreamException {
+
+        this(stream, createInputFactory());
+    }
+
+    SubscriberFileReader(InputStream stream, XMLInputFactory factory) throws XMLStreamException {
+
+        reader = factory.createXMLStreamReader(stream);
+    }
+
+    static XMLInputFactory createInputFactory() {
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        return factory;
+    }
+
+    /**
+     * Reads the next member from the subscriber file.
+     *
+     * @return The next member, or {@code null} if there are
+     * no members remaining
+     * @throws XMLStreamException if the underlying XML is malformed
+     * @throws XmlException       if the member cannot be loaded by XMLBeans
+     */
+    public SubscriberFileComponentPropertyType next() throws XMLStreamException, XmlException {
+
+        if (!toNextMember()) {
+
+            return null;
+        }
+
+        // XMLBeans consumes the member up to and including its end element
+        return SubscriberFileComponentPropertyType.Factory.parse(reader, options);
+    }
+
+    /**
+     * Skips the next member in the subscriber file without
+     * loading it.
+     *
+     * @return {@code true} if a member was skipped, {@code false}
+     * if there are no members remaining
+     * @throws XMLStreamException if the underlying XML is malformed
+     */
+    public boolean skip() throws XMLStreamException {
+
+        if (!toNextMember()) {
+
+            return false;
+        }
+
+        int memberDepth = 1;
+        while (memberDepth > 0) {
+
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+
+                memberDepth++;
+
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+
+                memberDepth--;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean toNextMember() throws XMLStreamException {
+
+        while (reader.hasNext()) {
+
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+
+                if (depth == 0) {
+
+                    options = new XmlOptions().setLoadAdditionalNamespaces(getRootNamespaces());
+
+                } else if (depth == 1 && MEMBER_NAME.equals(reader.getName())) {
+
+                    return true;
+                }
+
+                depth++;
+
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+
+                depth--;
+            }
+        }
+
+        return false;
+    }
+
+    private Map<String, String> getRootNamespaces() {
+
+        Map<String, String> namespaces = new HashMap<>();
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+
+            String prefix = reader.getNamespacePrefix(i);
+            namespaces.put(prefix == null ? "" : prefix, reader.getNamespaceURI(i));
+        }
+
+        return namespaces;
+    }
+
+    /**
+     * Closes the underlying XML reader.  This does not close the
+     * stream passed to the constructor.
+     */
+    @Override
+    public void close() {
+
+        try {
+
+            reader.close();
+
+        } catch (XMLStreamException e) {
+
+            // Ignore, the reader is being discarded
+        }
+    }
+}
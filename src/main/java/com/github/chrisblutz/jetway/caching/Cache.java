@@ -24,13 +24,41 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.PrintStream;
-import java.text.SimpleDateFormat;
 import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Represents a cache of objects that can be loaded from
  * and saved to files.
+ * <p>
+ * Caches are safe to use from multiple threads.  Loaded objects are
+ * split across a number of segments by key, each with its own lock and
+ * an equal share of the cache's maximum size, so threads accessing
+ * keys in different segments do not contend with each other.  Each
+ * segment evicts its own least recently used object once it is full.
+ * If multiple threads request the same unloaded key at once, only one
+ * of them reads it from its file and the others wait for its result.
+ * <p>
+ * Objects read from their files are never written back when they are
+ * unloaded.  Objects added with {@link #add(Object, Object)} are written
+ * when they are unloaded, so an object that is changed after being
+ * retrieved must be added again for its changes to be kept.
+ * <p>
+ * Changed objects are not written by the thread that unloads them.
+ * Instead, they are queued and written in batches on a background
+ * thread.  If an object is unloaded again before it is written, only
+ * its latest value is written, and objects waiting to be written are
+ * retrieved from the queue rather than their files.
  *
  * @param <K> the cache key type
  * @param <V> the cache value type
@@ -41,14 +69,22 @@ public class Cache<K, V> {
     private static final String CACHE_FILENAME = ".cache";
     private static final String CACHE_VERSION = "CacheVersion";
     private static final String INVALIDATION_TIME = "InvalidateAfter";
-    private static final SimpleDateFormat DATE_FORMATTER = new SimpleDateFormat("MM/dd/YYYY k:mm:ss:SSSZ", Locale.ENGLISH);
+    private static final String SOURCE = "Source";
+    private static final int BULK_BATCH_SIZE = 512;
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MAX_PENDING_WRITES = 1024;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/uuuu k:mm:ss:SSSZ", Locale.ENGLISH).withZone(ZoneId.systemDefault());
 
     private static Logger logger = null;
 
-    private int maxSize;
-    private Map<K, V> map;
+    private Segment<K, V>[] segments;
+    private ConcurrentMap<K, CompletableFuture<V>> pendingLoads = new ConcurrentHashMap<>();
+    private ConcurrentMap<K, V> pendingWrites = new ConcurrentHashMap<>();
+    private AtomicBoolean writeScheduled = new AtomicBoolean();
+    private ThreadPoolExecutor writeExecutor = null;
+    private volatile CacheException writeFailure = null;
+    private final Object writeLock = new Object();
     private Map<K, String> persistentData;
-    private List<K> accessList;
 
     private File cacheDirectory = null;
     private CacheConverter<K, V> converter;
@@ -56,9 +92,15 @@ public class Cache<K, V> {
     private CacheReader<K, V> reader;
     private CacheWriter<K, V> writer;
 
-    private boolean updated = false;
+    private volatile boolean updated = false;
+    private volatile Set<K> retainedKeys = null;
+    private volatile Map<K, V> bulkBatch = null;
+    private final Object bulkLock = new Object();
     private int cacheVersion = -1;
     private Date invalidationDate = new Date(Long.MAX_VALUE);
+    private CacheSource source = null;
+    private CacheSource recordedSource = null;
+    private Set<String> projection = null;
 
     /**
      * Creates a new {@code Cache} with the specified {@link CacheConverter}
@@ -78,12 +120,24 @@ public class Cache<K, V> {
      * @param size      the maximum size of the cache
      * @param converter the converter
      */
+    @SuppressWarnings("unchecked")
     public Cache(int size, CacheConverter<K, V> converter) {
 
-        maxSize = size;
-        map = new HashMap<>(size + 1, 1);
-        persistentData = new HashMap<>();
-        accessList = new ArrayList<>(size + 1);
+        // Segment counts are powers of two so keys can be masked into them
+        int segmentCount = 1;
+        while (segmentCount * 2 <= Math.min(MAX_SEGMENTS, size)) {
+
+            segmentCount *= 2;
+        }
+
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+
+            segments[i] = new Segment<>((size + segmentCount - 1) / segmentCount);
+        }
+
+        // Concurrent maps cannot hold null, so empty data is stored as an empty string
+        persistentData = new ConcurrentHashMap<>();
 
         this.converter = converter;
 
@@ -131,6 +185,16 @@ public class Cache<K, V> {
         return converter;
     }
 
+    /**
+     * Gets the number of entries this cache has written to files.
+     *
+     * @return The number of entries written
+     */
+    public long getWriteCount() {
+
+        return writer.getWriteCount();
+    }
+
     /**
      * Gets the version of this cache.
      *
@@ -171,6 +235,67 @@ public class Cache<K, V> {
         this.invalidationDate = invalidationDate;
     }
 
+    /**
+     * Gets the source file this cache is built from.
+     *
+     * @return The source of this cache, or {@code null} if the
+     * source is not tracked
+     */
+    public CacheSource getSource() {
+
+        return source;
+    }
+
+    /**
+     * Sets the source file this cache is built from.  When this
+     * cache is initialized from existing data, that data is only
+     * considered valid if it was built from a source with the
+     * same contents.  If the source is {@code null}, existing data
+     * is considered valid regardless of its source.
+     *
+     * @param source the source of this cache
+     */
+    public void setSource(CacheSource source) {
+
+        this.source = source;
+    }
+
+    /**
+     * Gets the keys of the {@link CacheEntry} values that are
+     * saved to this cache's files.
+     *
+     * @return The projected keys, or {@code null} if all keys are saved
+     */
+    public Set<String> getProjection() {
+
+        return projection;
+    }
+
+    /**
+     * Sets the keys of the {@link CacheEntry} values that are saved to
+     * this cache's files.  Any other keys are discarded when entries are
+     * written, except for the keys required by this cache's
+     * {@link CacheConverter}.  Discarded values are restored to their
+     * defaults when entries are loaded.
+     * <p>
+     * Projections are not recorded in the cache, so the cache must be
+     * rebuilt after its projection changes.
+     *
+     * @param keys the keys to save, or {@code null} to save all keys
+     */
+    public void setProjection(Collection<String> keys) {
+
+        if (keys == null) {
+
+            projection = null;
+
+        } else {
+
+            projection = new HashSet<>(keys);
+            projection.addAll(getConverter().getRequiredKeys());
+        }
+    }
+
     /**
      * Initializes this cache from data saved in the cache
      * directory.
@@ -216,8 +341,7 @@ public class Cache<K, V> {
                             String keyStr = parts[1].substring(0, keyLength);
                             K key = getConverter().loadKey(keyStr);
                             String value = parts[1].substring(keyLength);
-                            value = value.isEmpty() ? null : value;
-                            getConverter().loadPersistentData(key, value);
+                            getConverter().loadPersistentData(key, value.isEmpty() ? null : value);
                             persistentData.put(key, value);
                         }
                     }
@@ -229,6 +353,7 @@ public class Cache<K, V> {
                         return false;
                     }
 
+                    writer.loadDigests();
                     return true;
 
                 } else {
@@ -259,14 +384,30 @@ public class Cache<K, V> {
         try {
 
             String invalidationTime = sc.nextLine().substring(INVALIDATION_TIME.length() + 1);
-            Date invalidationDate = DATE_FORMATTER.parse(invalidationTime);
-            if (DATE_FORMATTER.parse(invalidationTime).before(Date.from(Instant.now()))) {
+            Date invalidationDate = Date.from(Instant.from(DATE_FORMATTER.parse(invalidationTime)));
+            if (invalidationDate.before(Date.from(Instant.now()))) {
 
                 return false;
             }
 
             setInvalidationDate(invalidationDate);
 
+            recordedSource = CacheSource.load(sc.nextLine().substring(SOURCE.length() + 1));
+            if (getSource() != null) {
+
+                if (!getSource().matches(recordedSource)) {
+
+                    return false;
+                }
+
+                // Record the source's new modification time so future
+                // checks do not need to compute its digest
+                if (getSource().getLastModified() != recordedSource.getLastModified()) {
+
+                    updated = true;
+                }
+            }
+
         } catch (Exception e) {
 
             return false;
@@ -281,7 +422,18 @@ public class Cache<K, V> {
      */
     public void uninitialize() {
 
+        if (bulkBatch != null) {
+
+            endBulkLoad();
+        }
+
         emptyAll();
+        saveMainCache();
+    }
+
+    private void saveMainCache() {
+
+        flushPendingWrites();
 
         if (updated) {
 
@@ -299,17 +451,27 @@ public class Cache<K, V> {
                 writePersistentData(stream);
                 stream.close();
 
+                updated = false;
+
             } catch (Exception e) {
 
                 throw CacheException.forMainSaveFail(e);
             }
         }
+
+        if (getCacheDirectory().exists()) {
+
+            writer.saveDigests();
+        }
     }
 
     private void writeCacheInformation(PrintStream stream) {
 
         stream.println(CACHE_VERSION + ":" + getCacheVersion());
-        stream.println(INVALIDATION_TIME + ":" + DATE_FORMATTER.format(getInvalidationDate()));
+        stream.println(INVALIDATION_TIME + ":" + DATE_FORMATTER.format(getInvalidationDate().toInstant()));
+
+        CacheSource writtenSource = getSource() != null ? getSource() : recordedSource;
+        stream.println(SOURCE + ":" + (writtenSource == null ? "" : writtenSource.save()));
     }
 
     private void writePersistentData(PrintStream stream) {
@@ -319,7 +481,12 @@ public class Cache<K, V> {
             String keyStr = getConverter().saveKey(key);
             int length = keyStr.length();
             String data = persistentData.get(key);
-            data = data == null ? "" : data;
+            if (data == null) {
+
+                // Removed by another thread since iteration began
+                continue;
+            }
+
             String entry = length + "=" + keyStr + data;
             stream.println(entry);
         }
@@ -337,14 +504,29 @@ public class Cache<K, V> {
      */
     public void invalidate() {
 
-        if (!deleteCacheFiles()) {
+        synchronized (writeLock) {
+
+            // Cleared first, so queued entries are not written after their files are removed
+            pendingWrites.clear();
+            writeFailure = null;
 
-            getLogger().warn("Failed to invalidate cache in " + getCacheDirectory().getPath() + ".");
+            if (!deleteCacheFiles()) {
+
+                getLogger().warn("Failed to invalidate cache in " + getCacheDirectory().getPath() + ".");
+            }
         }
 
-        accessList.clear();
-        map.clear();
+        for (Segment<K, V> segment : segments) {
+
+            synchronized (segment) {
+
+                segment.map.clear();
+                segment.dirtyKeys.clear();
+            }
+        }
         persistentData.clear();
+        recordedSource = null;
+        writer.loadDigests();
     }
 
     private boolean deleteCacheFiles() {
@@ -373,29 +555,129 @@ public class Cache<K, V> {
 
     /**
      * Gets the value associated with the specified key,
-     * loading it if required.
+     * loading it if required.  If another thread is already
+     * loading the value, this method waits for that thread
+     * to load it instead of loading it again.
      *
      * @param key the value's key
      * @return The loaded value
      */
     public V get(K key) {
 
-        if (!map.containsKey(key)) {
+        // Full batches are moved to the write queue before they are replaced,
+        // so values are never missing from both while the batch is read
+        Map<K, V> batch = bulkBatch;
+        if (batch != null) {
 
-            K oldest = removeOldest();
+            V batchValue = batch.get(key);
+            if (batchValue != null) {
 
-            if (oldest != null) {
+                return batchValue;
+            }
+        }
+
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
 
-                forceUnload(oldest);
+            V value = segment.map.get(key);
+            if (value != null || segment.map.containsKey(key)) {
+
+                return value;
             }
+        }
 
-            V value = reader.read(key);
-            map.put(key, value);
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> pendingLoad = pendingLoads.putIfAbsent(key, load);
+        if (pendingLoad != null) {
+
+            return awaitLoad(pendingLoad);
         }
 
-        addAccessEntry(key);
+        V value;
+        try {
+
+            value = load(segment, key);
+            load.complete(value);
+
+        } catch (Throwable t) {
+
+            // Errors must complete the load as well, or threads
+            // waiting for it would never be released
+            load.completeExceptionally(t);
+            throw t;
 
-        return map.get(key);
+        } finally {
+
+            pendingLoads.remove(key, load);
+        }
+
+        // Loading the value may have evicted another one
+        relieveWriteBacklog();
+
+        return value;
+    }
+
+    private V load(Segment<K, V> segment, K key) {
+
+        synchronized (segment) {
+
+            // Another thread may have finished loading the value
+            // before this thread started its load
+            if (segment.map.containsKey(key)) {
+
+                return segment.map.get(key);
+            }
+        }
+
+        V pendingValue = pendingWrites.get(key);
+        if (pendingValue != null) {
+
+            synchronized (segment) {
+
+                // If the value was written in the meantime, its file is up to date
+                put(segment, key, pendingValue, pendingWrites.remove(key, pendingValue));
+            }
+
+            return pendingValue;
+        }
+
+        // Read without holding the segment's lock, so other keys in
+        // the segment can still be accessed while the file is read
+        V value = reader.read(key);
+
+        synchronized (segment) {
+
+            if (segment.map.containsKey(key)) {
+
+                // Added by another thread while this one was reading
+                return segment.map.get(key);
+            }
+
+            put(segment, key, value, false);
+        }
+
+        return value;
+    }
+
+    private V awaitLoad(CompletableFuture<V> load) {
+
+        try {
+
+            return load.join();
+
+        } catch (CompletionException e) {
+
+            if (e.getCause() instanceof RuntimeException) {
+
+                throw (RuntimeException) e.getCause();
+
+            } else if (e.getCause() instanceof Error) {
+
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
     }
 
     /**
@@ -412,56 +694,146 @@ public class Cache<K, V> {
     }
 
     /**
-     * Empties all loaded entries and saves them
-     * to their respective files.
+     * Empties all loaded entries and saves any changed
+     * entries to their respective files.  This method
+     * returns once every changed entry has been written.
      */
-    @SuppressWarnings("unchecked")
     public void emptyAll() {
 
-        K[] keys = (K[]) accessList.toArray();
-        for (K key : keys) {
+        for (Segment<K, V> segment : segments) {
+
+            synchronized (segment) {
+
+                List<K> keys = new ArrayList<>(segment.map.keySet());
+                for (K key : keys) {
+
+                    unload(segment, key);
+                }
+            }
+        }
+
+        flushPendingWrites();
+    }
 
-            forceUnload(key);
+    /**
+     * Writes every unloaded entry that is still waiting to be written
+     * to its file, and returns once they have all been written.
+     *
+     * @throws CacheException if an entry could not be written, either
+     *                        by this method or by the background writer
+     */
+    public void flushPendingWrites() {
+
+        writePending();
+
+        CacheException failure = writeFailure;
+        if (failure != null) {
+
+            writeFailure = null;
+            throw failure;
         }
     }
 
     /**
-     * Unloads a value from this cache, saving it
-     * to its respective file.
+     * Unloads a value from this cache, saving it to its
+     * respective file if it has changed since it was loaded.
+     * The value is written in the background, so it may not
+     * be written when this method returns.
      *
      * @param key the value's key
      */
     public void forceUnload(K key) {
 
-        writer.write(key);
-        String data = getConverter().savePersistentData(map.get(key));
-        if (!persistentData.containsKey(key) || !persistentData.get(key).equals(data)) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+
+            if (segment.map.containsKey(key)) {
 
-            persistentData.put(key, data);
-            updated = true;
+                unload(segment, key);
+            }
         }
 
-        accessList.remove(key);
-        map.remove(key);
+        relieveWriteBacklog();
+    }
+
+    private void unload(Segment<K, V> segment, K key) {
+
+        V value = segment.map.remove(key);
+        if (segment.dirtyKeys.remove(key)) {
+
+            queueWrite(key, value);
+            String data = toStoredData(getConverter().savePersistentData(value));
+            if (!data.equals(persistentData.put(key, data))) {
+
+                updated = true;
+            }
+        }
     }
 
     /**
-     * Adds an object to this cache.
+     * Adds an object to this cache.  If an object with the same key
+     * already exists in this cache, it is replaced.  Its file is only
+     * rewritten if the new object's contents differ from it.
      *
      * @param key   the value's key
      * @param value the value
      */
     public void add(K key, V value) {
 
-        K oldest = removeOldest();
-        if (oldest != null) {
+        String data = getConverter().savePersistentData(value);
+
+        boolean batchFull = false;
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
 
-            forceUnload(oldest);
+            String existingData = persistentData.get(key);
+            if (existingData != null && !existingData.equals(toStoredData(data))) {
+
+                getConverter().unloadPersistentData(key);
+            }
+            getConverter().loadPersistentData(key, data);
+
+            synchronized (bulkLock) {
+
+                if (bulkBatch == null) {
+
+                    put(segment, key, value, true);
+
+                } else {
+
+                    // Bulk loaded values are never held for access, so their
+                    // persistent data is recorded immediately
+                    segment.map.remove(key);
+                    segment.dirtyKeys.remove(key);
+                    persistentData.put(key, toStoredData(data));
+
+                    bulkBatch.put(key, value);
+                    if (bulkBatch.size() >= BULK_BATCH_SIZE) {
+
+                        queueBulkBatch();
+                        batchFull = true;
+                    }
+                }
+            }
+        }
+
+        if (batchFull) {
+
+            // Written without holding any lock, so other threads can
+            // still access the cache while the batch is written
+            writePending();
+
+        } else {
+
+            relieveWriteBacklog();
+        }
+
+        Set<K> retained = retainedKeys;
+        if (retained != null) {
+
+            retained.add(key);
         }
 
-        map.put(key, value);
-        addAccessEntry(key);
-        getConverter().loadPersistentData(key, getConverter().savePersistentData(value));
         updated = true;
     }
 
@@ -473,31 +845,277 @@ public class Cache<K, V> {
      */
     public void remove(K key) {
 
-        forceUnload(key);
-        File cachedFile = writer.getCachedFile(key);
-        persistentData.remove(key);
-        if (cachedFile.exists() && !cachedFile.delete()) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+
+            segment.map.remove(key);
+            segment.dirtyKeys.remove(key);
+
+            synchronized (bulkLock) {
+
+                if (bulkBatch != null) {
+
+                    bulkBatch.remove(key);
+                }
+            }
+
+            if (persistentData.remove(key) != null) {
+
+                getConverter().unloadPersistentData(key);
+            }
+
+            synchronized (writeLock) {
+
+                pendingWrites.remove(key);
+                if (!writer.delete(key)) {
 
-            getLogger().warn("Failed to remove file from " + getCacheDirectory().getPath() + " for key " + key.toString() + ".");
+                    getLogger().warn("Failed to remove file from " + getCacheDirectory().getPath() + " for key " + key.toString() + ".");
+                }
+            }
         }
         updated = true;
     }
 
-    private void addAccessEntry(K key) {
+    /**
+     * Begins loading a large number of objects into this cache.
+     * Until {@link #endBulkLoad()} is called, objects added to this
+     * cache bypass the cache's access tracking.  Instead, they are
+     * collected into batches that are written to files one after
+     * another once each batch fills, and the main cache file is only
+     * written once the bulk load ends.
+     * <p>
+     * Objects added during a bulk load must be complete when they
+     * are added, since they may be written at any point afterwards.
+     */
+    public void beginBulkLoad() {
 
-        accessList.remove(key);
-        accessList.add(key);
+        synchronized (bulkLock) {
+
+            if (bulkBatch == null) {
+
+                bulkBatch = new ConcurrentHashMap<>(BULK_BATCH_SIZE * 2);
+            }
+        }
     }
 
-    private K removeOldest() {
+    /**
+     * Completes a bulk load started by {@link #beginBulkLoad()},
+     * writing all remaining objects and the main cache file.
+     *
+     * @throws CacheException if no bulk load is in progress
+     */
+    public void endBulkLoad() {
 
-        if (accessList.size() >= maxSize) {
+        synchronized (bulkLock) {
 
-            return accessList.remove(0);
+            if (bulkBatch == null) {
 
-        } else {
+                getLogger().error("No bulk load is in progress.");
+                throw new CacheException("No bulk load is in progress.");
+            }
+
+            queueBulkBatch();
+            bulkBatch = null;
+        }
+
+        saveMainCache();
+    }
+
+    /**
+     * Writes all objects added so far during a bulk load and the main
+     * cache file, without ending the bulk load.
+     *
+     * @throws CacheException if no bulk load is in progress
+     */
+    public void flushBulkLoad() {
+
+        synchronized (bulkLock) {
+
+            if (bulkBatch == null) {
+
+                getLogger().error("No bulk load is in progress.");
+                throw new CacheException("No bulk load is in progress.");
+            }
+
+            queueBulkBatch();
+        }
+
+        saveMainCache();
+    }
+
+    private void queueBulkBatch() {
+
+        // Must hold the bulk lock.  The full batch is queued before it is
+        // replaced and is written later by the caller, outside of any lock.
+        pendingWrites.putAll(bulkBatch);
+        bulkBatch = new ConcurrentHashMap<>(BULK_BATCH_SIZE * 2);
+    }
+
+    /**
+     * Begins updating this cache in place from its source data.
+     * Until {@link #endUpdate()} is called, every object added
+     * to this cache is recorded.  Objects whose contents have not
+     * changed keep their existing files.
+     */
+    public void beginUpdate() {
+
+        retainedKeys = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Completes an update started by {@link #beginUpdate()}, removing
+     * every previously cached object that was not added to this cache
+     * during the update.
+     *
+     * @return The number of objects removed from this cache
+     * @throws CacheException if no update is in progress
+     */
+    public int endUpdate() {
+
+        Set<K> retained = retainedKeys;
+        if (retained == null) {
+
+            getLogger().error("No cache update is in progress.");
+            throw new CacheException("No cache update is in progress.");
+        }
+
+        List<K> staleKeys = new ArrayList<>();
+        for (K key : persistentData.keySet()) {
+
+            if (!retained.contains(key)) {
+
+                staleKeys.add(key);
+            }
+        }
+
+        for (K key : staleKeys) {
+
+            remove(key);
+        }
+
+        retainedKeys = null;
+
+        return staleKeys.size();
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+
+        // Spread the hash so keys with similar low bits use different segments
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private void put(Segment<K, V> segment, K key, V value, boolean dirty) {
+
+        if (!segment.map.containsKey(key) && segment.map.size() >= segment.maxSize) {
+
+            // Access-ordered, so the least recently used value is always first
+            unload(segment, segment.map.keySet().iterator().next());
+        }
+
+        segment.map.put(key, value);
+        if (dirty) {
+
+            segment.dirtyKeys.add(key);
+        }
+    }
+
+    private void queueWrite(K key, V value) {
+
+        // Never writes on this thread, since it may hold a segment's lock
+        pendingWrites.put(key, value);
+
+        if (writeScheduled.compareAndSet(false, true)) {
+
+            getWriteExecutor().execute(() -> {
+
+                writeScheduled.set(false);
+
+                try {
+
+                    writePending();
+
+                } catch (CacheException e) {
+
+                    writeFailure = e;
+                }
+            });
+        }
+    }
+
+    private void relieveWriteBacklog() {
+
+        if (pendingWrites.size() >= MAX_PENDING_WRITES) {
+
+            // The background writer is falling behind, so write on this
+            // thread instead of queueing without limit.  This must only be
+            // called without holding a segment's lock, so lookups in the
+            // segment are not held up by the writes.
+            writePending();
+        }
+    }
+
+    private void writePending() {
+
+        for (K key : pendingWrites.keySet()) {
+
+            synchronized (writeLock) {
+
+                V value = pendingWrites.get(key);
+                if (value == null) {
+
+                    // Written by another thread, or retrieved again before it was written
+                    continue;
+                }
+
+                try {
+
+                    writer.write(key, value);
+
+                } finally {
+
+                    // Only removed once written, so it can still be retrieved
+                    // from the queue until its file is up to date
+                    pendingWrites.remove(key, value);
+                }
+            }
+        }
+    }
+
+    private synchronized ThreadPoolExecutor getWriteExecutor() {
+
+        if (writeExecutor == null) {
+
+            // The thread stops while there is nothing to write, so idle caches do not hold one
+            writeExecutor = new ThreadPoolExecutor(1, 1, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+
+                Thread thread = new Thread(runnable, "Jetway Cache Writer " + getCacheDirectory().getName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            writeExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return writeExecutor;
+    }
+
+    private static String toStoredData(String data) {
+
+        return data == null ? "" : data;
+    }
+
+    private static final class Segment<K, V> {
+
+        private int maxSize;
+        private Map<K, V> map;
+        private Set<K> dirtyKeys = new HashSet<>();
+
+        private Segment(int maxSize) {
 
-            return null;
+            this.maxSize = maxSize;
+            map = new LinkedHashMap<>(maxSize + 1, 1, true);
         }
     }
 }
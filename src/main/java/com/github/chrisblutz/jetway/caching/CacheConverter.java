@@ -16,6 +16,10 @@
 
 package com.github.chrisblutz.jetway.caching;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * Represents a converter for cached values from {@link CacheEntry}
  * instances into objects and vice versa.
@@ -66,6 +70,17 @@ public abstract class CacheConverter<K, V> {
      */
     public abstract void loadPersistentData(K key, String data);
 
+    /**
+     * Unloads persistent data about a cached object that has been
+     * removed from the cache or whose persistent data has changed.
+     * By default, this method does nothing.
+     *
+     * @param key the key for the object
+     */
+    public void unloadPersistentData(K key) {
+
+    }
+
     /**
      * Saves persistent data about a cached object to a {@link String}.
      *
@@ -73,4 +88,17 @@ public abstract class CacheConverter<K, V> {
      * @return The persistent data as a {@link String}
      */
     public abstract String savePersistentData(V value);
+
+    /**
+     * Gets the keys that must be kept in every {@link CacheEntry}
+     * saved by this converter, even if the cache's projection
+     * does not include them.  By default, this set is empty.
+     *
+     * @return The required entry keys
+     * @see Cache#setProjection(Collection)
+     */
+    public Set<String> getRequiredKeys() {
+
+        return Collections.emptySet();
+    }
 }
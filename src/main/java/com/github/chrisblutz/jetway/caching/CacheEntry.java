@@ -66,6 +66,20 @@ public class CacheEntry {
         }
     }
 
+    /**
+     * Gets a {@code boolean} value from the cache entry, or the
+     * specified default value if the entry does not contain the key.
+     *
+     * @param key          the entry key
+     * @param defaultValue the value to return if the key is not present
+     * @return The value for the key
+     * @throws CacheException if the value's type is invalid
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+
+        return get(key) == null ? defaultValue : getBoolean(key);
+    }
+
     /**
      * Gets a {@code byte} value from the cache entry.
      *
@@ -124,6 +138,20 @@ public class CacheEntry {
         }
     }
 
+    /**
+     * Gets a {@code double} value from the cache entry, or the
+     * specified default value if the entry does not contain the key.
+     *
+     * @param key          the entry key
+     * @param defaultValue the value to return if the key is not present
+     * @return The value for the key
+     * @throws CacheException if the value's type is invalid
+     */
+    public double getDouble(String key, double defaultValue) {
+
+        return get(key) == null ? defaultValue : getDouble(key);
+    }
+
     /**
      * Gets a {@code float} value from the cache entry.
      *
@@ -162,6 +190,20 @@ public class CacheEntry {
         }
     }
 
+    /**
+     * Gets a {@code int} value from the cache entry, or the
+     * specified default value if the entry does not contain the key.
+     *
+     * @param key          the entry key
+     * @param defaultValue the value to return if the key is not present
+     * @return The value for the key
+     * @throws CacheException if the value's type is invalid
+     */
+    public int getInteger(String key, int defaultValue) {
+
+        return get(key) == null ? defaultValue : getInteger(key);
+    }
+
     /**
      * Gets a {@code long} value from the cache entry.
      *
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.caching;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.MessageDigest;
+
+/**
+ * Represents the source file that a cache is built from.
+ * <p>
+ * Sources are identified by their size, modification time and a
+ * digest of their contents.  When comparing a source against one
+ * recorded in a cache, the size and modification time are compared
+ * first, and the (comparatively expensive) digest is only computed
+ * if they differ.
+ *
+ * @author Christopher Lutz
+ */
+public class CacheSource {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private File file;
+    private long size;
+    private long lastModified;
+    private String digest = null;
+
+    /**
+     * Creates a new {@code CacheSource} for the specified file.
+     *
+     * @param file the source file
+     */
+    public CacheSource(File file) {
+
+        this.file = file;
+        this.size = file.length();
+        this.lastModified = file.lastModified();
+    }
+
+    private CacheSource(long size, long lastModified, String digest) {
+
+        this.file = null;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.digest = digest;
+    }
+
+    /**
+     * Gets the size of the source file, in bytes.
+     *
+     * @return The size of the source file
+     */
+    public long getSize() {
+
+        return size;
+    }
+
+    /**
+     * Gets the time the source file was last modified.
+     *
+     * @return The modification time of the source file
+     */
+    public long getLastModified() {
+
+        return lastModified;
+    }
+
+    /**
+     * Gets the digest of the source file's contents, computing
+     * it if it has not yet been computed.
+     *
+     * @return The digest of the source file
+     * @throws CacheException if the source file cannot be read
+     */
+    public String getDigest() {
+
+        if (digest == null) {
+
+            digest = computeDigest(file);
+        }
+
+        return digest;
+    }
+
+    /**
+     * Determines if this source has the same contents as the
+     * specified recorded source.
+     *
+     * @param recorded the source recorded in a cache
+     * @return {@code true} if the sources match, {@code false} otherwise
+     */
+    public boolean matches(CacheSource recorded) {
+
+        if (recorded == null) {
+
+            return false;
+        }
+
+        if (size != recorded.size) {
+
+            return false;
+
+        } else if (lastModified == recorded.lastModified) {
+
+            return true;
+        }
+
+        return getDigest().equals(recorded.getDigest());
+    }
+
+    /**
+     * Saves this source to a {@link String}.
+     *
+     * @return The source as a {@link String}
+     */
+    public String save() {
+
+        return size + "," + lastModified + "," + getDigest();
+    }
+
+    /**
+     * Loads a source that was saved using {@link #save()}.
+     *
+     * @param str the string to load from
+     * @return The loaded source, or {@code null} if the string
+     * does not contain a source
+     */
+    public static CacheSource load(String str) {
+
+        String[] parts = str.split(",");
+        if (parts.length != 3) {
+
+            return null;
+        }
+
+        try {
+
+            return new CacheSource(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]);
+
+        } catch (NumberFormatException e) {
+
+            return null;
+        }
+    }
+
+    private static String computeDigest(File file) {
+
+        try (InputStream in = new FileInputStream(file)) {
+
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+
+                digest.update(buffer, 0, read);
+            }
+
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest.digest()) {
+
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+
+            return builder.toString();
+
+        } catch (Exception e) {
+
+            Cache.getLogger().error("Failed to compute digest of cache source " + file.getPath() + ".", e);
+            throw new CacheException("Failed to compute digest of cache source " + file.getPath() + ".", e);
+        }
+    }
+}
@@ -16,11 +16,15 @@
 
 package com.github.chrisblutz.jetway.caching.features;
 
+import com.github.chrisblutz.jetway.Dataset;
 import com.github.chrisblutz.jetway.caching.CacheConverter;
 import com.github.chrisblutz.jetway.caching.CacheEntry;
 import com.github.chrisblutz.jetway.features.Airport;
-import com.github.chrisblutz.jetway.features.Airports;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -28,6 +32,15 @@ import java.util.UUID;
  */
 class AirportCacheConverter extends CacheConverter<UUID, Airport> {
 
+    private static final Set<String> REQUIRED_KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(AirportCacheUtils.NAME, AirportCacheUtils.IATA_DESIGNATOR, AirportCacheUtils.ICAO_IDENTIFIER)));
+
+    private Dataset dataset;
+
+    AirportCacheConverter(Dataset dataset) {
+
+        this.dataset = dataset;
+    }
+
     /**
      * Loads an {@link Airport} instance from a {@link CacheEntry}.
      *
@@ -37,7 +50,7 @@ class AirportCacheConverter extends CacheConverter<UUID, Airport> {
     @Override
     public Airport load(CacheEntry entry) {
 
-        return Airport.loadAirportFromCache(entry);
+        return Airport.loadAirportFromCache(entry, dataset);
     }
 
     /**
@@ -101,7 +114,18 @@ class AirportCacheConverter extends CacheConverter<UUID, Airport> {
         int identifierLength = Integer.parseInt(lengths[2]);
         String identifier = data.substring(0, identifierLength);
 
-        Airports.register(key, name, designator, identifier);
+        dataset.getAirportRegistry().register(key, name, designator, identifier);
+    }
+
+    /**
+     * Unloads the persistent data for an {@link Airport} instance.
+     *
+     * @param key the key for the {@link Airport}
+     */
+    @Override
+    public void unloadPersistentData(UUID key) {
+
+        dataset.getAirportRegistry().unregister(key);
     }
 
     /**
@@ -123,4 +147,17 @@ class AirportCacheConverter extends CacheConverter<UUID, Airport> {
 
         return nameLength + "," + designatorLength + "," + identifierLength + "=" + name + designator + (identifier == null ? "" : identifier);
     }
+
+    /**
+     * Gets the keys that must be kept in every {@link CacheEntry}
+     * for an {@link Airport}, which are the keys its persistent
+     * data is built from.
+     *
+     * @return The required entry keys
+     */
+    @Override
+    public Set<String> getRequiredKeys() {
+
+        return REQUIRED_KEYS;
+    }
 }
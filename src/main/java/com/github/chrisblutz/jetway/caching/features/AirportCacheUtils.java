@@ -16,6 +16,7 @@
 
 package com.github.chrisblutz.jetway.caching.features;
 
+import com.github.chrisblutz.jetway.Dataset;
 import com.github.chrisblutz.jetway.caching.CacheConverter;
 import com.github.chrisblutz.jetway.features.Airport;
 
@@ -106,20 +107,16 @@ public class AirportCacheUtils {
      */
     public static final String RUNWAYS = "runways";
 
-    private static CacheConverter<UUID, Airport> airportConverter = null;
-
     /**
-     * Retrieves the {@link CacheConverter} for {@link Airport} instances.
+     * Creates the {@link CacheConverter} for {@link Airport} instances
+     * cached in the specified {@link Dataset}.  The converter registers
+     * persistent airport data with that dataset.
      *
+     * @param dataset the dataset whose cache uses the converter
      * @return The airport cache converter
      */
-    public static CacheConverter<UUID, Airport> getAirportConverter() {
-
-        if (airportConverter == null) {
-
-            airportConverter = new AirportCacheConverter();
-        }
+    public static CacheConverter<UUID, Airport> createAirportConverter(Dataset dataset) {
 
-        return airportConverter;
+        return new AirportCacheConverter(dataset);
     }
 }
@@ -16,11 +16,15 @@
 
 package com.github.chrisblutz.jetway.caching.features;
 
+import com.github.chrisblutz.jetway.Dataset;
 import com.github.chrisblutz.jetway.caching.CacheConverter;
 import com.github.chrisblutz.jetway.caching.CacheEntry;
 import com.github.chrisblutz.jetway.features.Runway;
-import com.github.chrisblutz.jetway.features.Runways;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -28,6 +32,15 @@ import java.util.UUID;
  */
 public class RunwayCacheConverter extends CacheConverter<UUID, Runway> {
 
+    private static final Set<String> REQUIRED_KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(RunwayCacheUtils.DESIGNATOR)));
+
+    private Dataset dataset;
+
+    RunwayCacheConverter(Dataset dataset) {
+
+        this.dataset = dataset;
+    }
+
     /**
      * Loads a {@link Runway} instance from a {@link CacheEntry}.
      *
@@ -86,7 +99,18 @@ public class RunwayCacheConverter extends CacheConverter<UUID, Runway> {
     @Override
     public void loadPersistentData(UUID key, String data) {
 
-        Runways.registerDesignator(key, data);
+        dataset.getRunwayRegistry().registerDesignator(key, data);
+    }
+
+    /**
+     * Unloads the persistent data for a {@link Runway} instance.
+     *
+     * @param key the key for the {@link Runway}
+     */
+    @Override
+    public void unloadPersistentData(UUID key) {
+
+        dataset.getRunwayRegistry().unregisterDesignator(key);
     }
 
     /**
@@ -101,4 +125,17 @@ public class RunwayCacheConverter extends CacheConverter<UUID, Runway> {
 
         return runway.getDesignator();
     }
+
+    /**
+     * Gets the keys that must be kept in every {@link CacheEntry}
+     * for a {@link Runway}, which are the keys its persistent
+     * data is built from.
+     *
+     * @return The required entry keys
+     */
+    @Override
+    public Set<String> getRequiredKeys() {
+
+        return REQUIRED_KEYS;
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.github.chrisblutz.jetway.caching.features;
 
+import com.github.chrisblutz.jetway.Dataset;
 import com.github.chrisblutz.jetway.caching.CacheConverter;
 import com.github.chrisblutz.jetway.features.Runway;
 
@@ -75,20 +76,16 @@ public class RunwayCacheUtils {
      */
     public static final String END_LONGITUDE = "endLongitude";
 
-    private static CacheConverter<UUID, Runway> runwayConverter = null;
-
     /**
-     * Retrieves the {@link CacheConverter} for {@link Runway} instances.
+     * Creates the {@link CacheConverter} for {@link Runway} instances
+     * cached in the specified {@link Dataset}.  The converter registers
+     * persistent runway data with that dataset.
      *
+     * @param dataset the dataset whose cache uses the converter
      * @return The runway cache converter
      */
-    public static CacheConverter<UUID, Runway> getRunwayConverter() {
-
-        if (runwayConverter == null) {
-
-            runwayConverter = new RunwayCacheConverter();
-        }
+    public static CacheConverter<UUID, Runway> createRunwayConverter(Dataset dataset) {
 
-        return runwayConverter;
+        return new RunwayCacheConverter(dataset);
     }
 }
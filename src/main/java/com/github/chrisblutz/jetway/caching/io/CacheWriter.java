@@ -24,13 +24,30 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Scanner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class is used to handle the writing and
  * saving of cache files.
+ * <p>
+ * The writer keeps a digest of the contents of each cache file
+ * it has written, which is saved alongside the cache files.  Entries
+ * whose contents have not changed since they were last written are
+ * not rewritten.
+ * <p>
+ * Entries with different keys may be written from multiple
+ * threads at once.
  *
  * @param <K> the cache key type
  * @param <V> the cache value type
@@ -38,9 +55,15 @@ import java.util.Properties;
  */
 public class CacheWriter<K, V> {
 
+    private static final String DIGEST_FILENAME = ".digests";
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+
     private static Logger logger = null;
 
     private Cache<K, V> cache;
+    private Map<String, String> digests = new ConcurrentHashMap<>();
+    private volatile boolean digestsUpdated = false;
+    private AtomicLong writeCount = new AtomicLong();
 
     /**
      * Creates a new {@code CacheWriter} with the specified
@@ -70,6 +93,19 @@ public class CacheWriter<K, V> {
      */
     public void write(K key) {
 
+        write(key, cache.get(key));
+    }
+
+    /**
+     * Writes the specified value as the cache entry with the
+     * specified key.  The value does not need to be loaded
+     * in the cache.
+     *
+     * @param key   the key for the cache entry
+     * @param value the value to write
+     */
+    public void write(K key, V value) {
+
         if (cache.getCacheDirectory() == null) {
 
             throw CacheException.forNullValue("Cache directory");
@@ -86,14 +122,40 @@ public class CacheWriter<K, V> {
             File cacheFile = getCachedFile(key);
 
             CacheEntry entry = new CacheEntry();
-            cache.getConverter().save(cache.get(key), entry);
+            cache.getConverter().save(value, entry);
+
+            if (cache.getProjection() != null) {
+
+                entry.asMap().keySet().retainAll(cache.getProjection());
+            }
+
+            String keyStr = cache.getConverter().saveKey(key);
+            String digest = computeDigest(entry);
+            if (digest.equals(digests.get(keyStr)) && cacheFile.exists()) {
+
+                return;
+            }
+
+            if (!digestsUpdated) {
+
+                invalidateDigestFile();
+            }
+
+            // The previous digest no longer describes the file once it is
+            // overwritten, and the new one only does once the write succeeds
+            digests.remove(keyStr);
 
             Properties properties = new Properties();
             properties.putAll(entry.asMap());
 
-            FileOutputStream fOut = new FileOutputStream(cacheFile);
-            properties.store(fOut, null);
-            fOut.close();
+            try (FileOutputStream fOut = new FileOutputStream(cacheFile)) {
+
+                properties.store(fOut, null);
+            }
+
+            digests.put(keyStr, digest);
+
+            writeCount.incrementAndGet();
 
         } catch (Exception e) {
 
@@ -102,6 +164,139 @@ public class CacheWriter<K, V> {
         }
     }
 
+    /**
+     * Gets the number of cache entries this writer has written to files.
+     * Entries that were not rewritten because their contents had not
+     * changed are not counted.
+     *
+     * @return The number of cache entries written
+     */
+    public long getWriteCount() {
+
+        return writeCount.get();
+    }
+
+    private synchronized void invalidateDigestFile() {
+
+        if (!digestsUpdated) {
+
+            // The saved digests no longer match the cache files until they
+            // are saved again, so they are removed in case they never are
+            File digestFile = getDigestFile();
+            if (digestFile.exists() && !digestFile.delete()) {
+
+                getLogger().warn("Failed to remove digest file from " + cache.getCacheDirectory().getPath() + ".");
+            }
+
+            digestsUpdated = true;
+        }
+    }
+
+    /**
+     * Deletes the cache file for the specified key.
+     *
+     * @param key the key for the cache entry
+     * @return {@code true} if the file was deleted or did not exist,
+     * {@code false} otherwise
+     */
+    public boolean delete(K key) {
+
+        if (digests.remove(cache.getConverter().saveKey(key)) != null) {
+
+            digestsUpdated = true;
+        }
+
+        File cacheFile = getCachedFile(key);
+        return !cacheFile.exists() || cacheFile.delete();
+    }
+
+    /**
+     * Loads the digests of previously written cache entries from
+     * the cache directory, replacing any digests currently held
+     * by this writer.  If no digests were saved, all entries will be
+     * rewritten the next time they are written.
+     */
+    public synchronized void loadDigests() {
+
+        digests.clear();
+        digestsUpdated = false;
+
+        File digestFile = getDigestFile();
+        if (cache.getCacheDirectory() == null || !digestFile.exists()) {
+
+            return;
+        }
+
+        try (Scanner sc = new Scanner(digestFile, "UTF-8")) {
+
+            while (sc.hasNextLine()) {
+
+                String[] parts = sc.nextLine().split("=", 2);
+                if (parts.length == 2) {
+
+                    digests.put(parts[0], parts[1]);
+                }
+            }
+
+        } catch (Exception e) {
+
+            getLogger().warn("Failed to read digest file from " + cache.getCacheDirectory().getPath() + ".", e);
+            digests.clear();
+        }
+    }
+
+    /**
+     * Saves the digests of all written cache entries to the cache
+     * directory, if they have changed since they were loaded.
+     */
+    public synchronized void saveDigests() {
+
+        if (!digestsUpdated) {
+
+            return;
+        }
+
+        try (PrintStream stream = new PrintStream(getDigestFile(), "UTF-8")) {
+
+            for (Map.Entry<String, String> digest : digests.entrySet()) {
+
+                stream.println(digest.getKey() + "=" + digest.getValue());
+            }
+
+            digestsUpdated = false;
+
+        } catch (Exception e) {
+
+            getLogger().error("Failed to write digest file to " + cache.getCacheDirectory().getPath() + ".");
+            throw new CacheException("Failed to write digest file to " + cache.getCacheDirectory().getPath() + ".", e);
+        }
+    }
+
+    private File getDigestFile() {
+
+        return new File(cache.getCacheDirectory(), DIGEST_FILENAME);
+    }
+
+    private static String computeDigest(CacheEntry entry) throws NoSuchAlgorithmException {
+
+        MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        for (Map.Entry<String, String> value : new TreeMap<>(entry.asMap()).entrySet()) {
+
+            digest.update(value.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '=');
+            digest.update(value.getValue().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return builder.toString();
+    }
+
     /**
      * Retrieves the cache file for the specified key.
      *
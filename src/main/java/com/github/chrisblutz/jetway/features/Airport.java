@@ -16,10 +16,13 @@
 
 package com.github.chrisblutz.jetway.features;
 
+import com.github.chrisblutz.jetway.Dataset;
 import com.github.chrisblutz.jetway.Jetway;
 import com.github.chrisblutz.jetway.aixm.AIXMAssignable;
+import com.github.chrisblutz.jetway.aixm.AIXMAttribute;
 import com.github.chrisblutz.jetway.aixm.AIXMFeature;
 import com.github.chrisblutz.jetway.aixm.AIXMType;
+import com.github.chrisblutz.jetway.caching.Cache;
 import com.github.chrisblutz.jetway.caching.CacheEntry;
 import com.github.chrisblutz.jetway.caching.CacheLink;
 import com.github.chrisblutz.jetway.caching.Cacheable;
@@ -37,26 +40,59 @@ import java.util.*;
  */
 public class Airport implements AIXMAssignable<Runway>, Cacheable {
 
-    private String name, iataDesignator, icaoIdentifier, siteNumber;
-    private boolean isPublic;
-    private double elevation, landArea;
-    private GeoCoordinate geoPosition;
-    private Ownership ownership;
-    private FacilityType facilityType;
-    private int singleEngineAircraft, multiEngineAircraft, jetEngineAircraft, helicopters, gliders, militaryAircraft, ultralightAircraft;
+    @AIXMAttribute("AIXMName")
+    String name;
+    @AIXMAttribute("Designator")
+    String iataDesignator;
+    @AIXMAttribute(value = "LocationIndicatorICAO", optional = true)
+    String icaoIdentifier;
+    @AIXMAttribute(value = "AirportSiteNumber", extension = true)
+    String siteNumber;
+    @AIXMAttribute(value = "PrivateUse", inverted = true)
+    boolean isPublic;
+    @AIXMAttribute("FieldElevation")
+    double elevation;
+    @AIXMAttribute(value = "LandSize", extension = true)
+    double landArea;
+    @AIXMAttribute("ARP/ElevatedPoint/Position")
+    GeoCoordinate geoPosition;
+    @AIXMAttribute(value = "OwnershipType", extension = true)
+    Ownership ownership;
+    @AIXMAttribute("Type")
+    FacilityType facilityType;
+    @AIXMAttribute(value = "NumberOfSingleEngineAircraft", extension = true)
+    int singleEngineAircraft;
+    @AIXMAttribute(value = "NumberOfMultiEngineAircraft", extension = true)
+    int multiEngineAircraft;
+    @AIXMAttribute(value = "NumberOfJetEngineAircraft", extension = true)
+    int jetEngineAircraft;
+    @AIXMAttribute(value = "NumberOfHelicopter", extension = true)
+    int helicopters;
+    @AIXMAttribute(value = "NumberOfOperationalGlider", extension = true)
+    int gliders;
+    @AIXMAttribute(value = "NumberOfMilitaryAircraft", extension = true)
+    int militaryAircraft;
+    @AIXMAttribute(value = "NumberOfUltralightAircraft", extension = true)
+    int ultralightAircraft;
 
     private List<CacheLink<UUID, Runway>> runwayLinks = new ArrayList<>();
     private Map<String, CacheLink<UUID, Runway>> runwayMappings = new HashMap<>();
 
+    private Dataset dataset = null;
+
     /**
      * Loads an {@code Airport} instance based on the specified {@link CacheEntry}.
+     * The runways of the airport are linked to the runway cache of the
+     * specified {@link Dataset}.
      *
-     * @param entry the entry being loaded
+     * @param entry   the entry being loaded
+     * @param dataset the dataset the entry was loaded from
      * @return The resulting {@code Airport} instance
      */
-    public static Airport loadAirportFromCache(CacheEntry entry) {
+    public static Airport loadAirportFromCache(CacheEntry entry, Dataset dataset) {
 
         Airport airport = new Airport();
+        airport.dataset = dataset;
         airport.loadFromCache(entry);
         return airport;
     }
@@ -315,11 +351,12 @@ public class Airport implements AIXMAssignable<Runway>, Cacheable {
      *
      * @param uuid  the {@link UUID} key
      * @param value the {@link Runway} object
+     * @param cache the cache that the {@link Runway} is stored in
      */
     @Override
-    public void assign(UUID uuid, Runway value) {
+    public void assign(UUID uuid, Runway value, Cache<UUID, Runway> cache) {
 
-        runwayLinks.add(Jetway.getRunwayCache().linkTo(uuid));
+        runwayLinks.add(cache.linkTo(uuid));
     }
 
     /**
@@ -334,23 +371,19 @@ public class Airport implements AIXMAssignable<Runway>, Cacheable {
     @Override
     public void loadFromAIXM(AIXMType type, AIXMFeature feature) {
 
-        name = feature.getString("AIXMName");
-        iataDesignator = feature.getString("Designator");
-        icaoIdentifier = feature.checkedCrawl("LocationIndicatorICAO").getString();
-        siteNumber = feature.extension().getString("AirportSiteNumber");
-        isPublic = !feature.getBoolean("PrivateUse");
-        elevation = feature.getDouble("FieldElevation");
-        landArea = feature.extension().getDouble("LandSize");
-        geoPosition = feature.getGeographicCoordinate("ARP/ElevatedPoint/Position");
-        ownership = feature.extension().getEnum("OwnershipType", Ownership.class);
-        facilityType = feature.getEnum("Type", FacilityType.class);
-        singleEngineAircraft = feature.extension().getInteger("NumberOfSingleEngineAircraft");
-        multiEngineAircraft = feature.extension().getInteger("NumberOfMultiEngineAircraft");
-        jetEngineAircraft = feature.extension().getInteger("NumberOfJetEngineAircraft");
-        helicopters = feature.extension().getInteger("NumberOfHelicopter");
-        gliders = feature.extension().getInteger("NumberOfOperationalGlider");
-        militaryAircraft = feature.extension().getInteger("NumberOfMilitaryAircraft");
-        ultralightAircraft = feature.extension().getInteger("NumberOfUltralightAircraft");
+        AirportAIXMMapper.load(this, type, feature);
+    }
+
+    /**
+     * Retrieves the identity of this airport, which is its
+     * FAA site number.
+     *
+     * @return The site number of this airport
+     */
+    @Override
+    public String getAIXMIdentity() {
+
+        return getSiteNumber();
     }
 
     /**
@@ -366,28 +399,34 @@ public class Airport implements AIXMAssignable<Runway>, Cacheable {
         icaoIdentifier = entry.get(AirportCacheUtils.ICAO_IDENTIFIER);
         icaoIdentifier = icaoIdentifier.isEmpty() ? null : icaoIdentifier;
         siteNumber = entry.get(AirportCacheUtils.SITE_NUMBER);
-        isPublic = entry.getBoolean(AirportCacheUtils.IS_PUBLIC);
-        elevation = entry.getDouble(AirportCacheUtils.ELEVATION);
-        landArea = entry.getDouble(AirportCacheUtils.LAND_AREA);
-        double latitude = entry.getDouble(AirportCacheUtils.LATITUDE);
-        double longitude = entry.getDouble(AirportCacheUtils.LONGITUDE);
-        geoPosition = new GeoCoordinate(latitude, longitude);
-        ownership = Ownership.valueOf(entry.get(AirportCacheUtils.OWNERSHIP));
-        facilityType = FacilityType.valueOf(entry.get(AirportCacheUtils.FACILITY_TYPE));
-        singleEngineAircraft = entry.getInteger(AirportCacheUtils.BASED_SINGLE_ENGINE_AIRCRAFT);
-        multiEngineAircraft = entry.getInteger(AirportCacheUtils.BASED_MULTI_ENGINE_AIRCRAFT);
-        jetEngineAircraft = entry.getInteger(AirportCacheUtils.BASED_JET_ENGINE_AIRCRAFT);
-        helicopters = entry.getInteger(AirportCacheUtils.BASED_HELICOPTERS);
-        gliders = entry.getInteger(AirportCacheUtils.BASED_GLIDERS);
-        militaryAircraft = entry.getInteger(AirportCacheUtils.BASED_MILITARY_AIRCRAFT);
-        ultralightAircraft = entry.getInteger(AirportCacheUtils.BASED_ULTRALIGHT_AIRCRAFT);
+        isPublic = entry.getBoolean(AirportCacheUtils.IS_PUBLIC, false);
+        elevation = entry.getDouble(AirportCacheUtils.ELEVATION, 0);
+        landArea = entry.getDouble(AirportCacheUtils.LAND_AREA, 0);
+        if (entry.get(AirportCacheUtils.LATITUDE) != null && entry.get(AirportCacheUtils.LONGITUDE) != null) {
+
+            double latitude = entry.getDouble(AirportCacheUtils.LATITUDE);
+            double longitude = entry.getDouble(AirportCacheUtils.LONGITUDE);
+            geoPosition = new GeoCoordinate(latitude, longitude);
+        }
+        String ownershipStr = entry.get(AirportCacheUtils.OWNERSHIP);
+        ownership = ownershipStr == null ? null : Ownership.valueOf(ownershipStr);
+        String facilityTypeStr = entry.get(AirportCacheUtils.FACILITY_TYPE);
+        facilityType = facilityTypeStr == null ? null : FacilityType.valueOf(facilityTypeStr);
+        singleEngineAircraft = entry.getInteger(AirportCacheUtils.BASED_SINGLE_ENGINE_AIRCRAFT, 0);
+        multiEngineAircraft = entry.getInteger(AirportCacheUtils.BASED_MULTI_ENGINE_AIRCRAFT, 0);
+        jetEngineAircraft = entry.getInteger(AirportCacheUtils.BASED_JET_ENGINE_AIRCRAFT, 0);
+        helicopters = entry.getInteger(AirportCacheUtils.BASED_HELICOPTERS, 0);
+        gliders = entry.getInteger(AirportCacheUtils.BASED_GLIDERS, 0);
+        militaryAircraft = entry.getInteger(AirportCacheUtils.BASED_MILITARY_AIRCRAFT, 0);
+        ultralightAircraft = entry.getInteger(AirportCacheUtils.BASED_ULTRALIGHT_AIRCRAFT, 0);
 
         String runways = entry.get(AirportCacheUtils.RUNWAYS);
-        if (!runways.isEmpty()) {
+        if (runways != null && !runways.isEmpty()) {
 
+            Cache<UUID, Runway> runwayCache = dataset != null ? dataset.getRunwayCache() : Jetway.getRunwayCache();
             for (String runway : runways.split(",")) {
 
-                runwayLinks.add(Jetway.getRunwayCache().linkTo(UUID.fromString(runway)));
+                runwayLinks.add(runwayCache.linkTo(UUID.fromString(runway)));
             }
         }
     }
@@ -407,8 +446,11 @@ public class Airport implements AIXMAssignable<Runway>, Cacheable {
         entry.put(AirportCacheUtils.IS_PUBLIC, isPublic());
         entry.put(AirportCacheUtils.ELEVATION, getElevation());
         entry.put(AirportCacheUtils.LAND_AREA, getLandArea());
-        entry.put(AirportCacheUtils.LATITUDE, getGeographicPosition().getLatitude());
-        entry.put(AirportCacheUtils.LONGITUDE, getGeographicPosition().getLongitude());
+        if (getGeographicPosition() != null) {
+
+            entry.put(AirportCacheUtils.LATITUDE, getGeographicPosition().getLatitude());
+            entry.put(AirportCacheUtils.LONGITUDE, getGeographicPosition().getLongitude());
+        }
         entry.put(AirportCacheUtils.OWNERSHIP, getOwnership());
         entry.put(AirportCacheUtils.FACILITY_TYPE, getFacilityType());
         entry.put(AirportCacheUtils.BASED_SINGLE_ENGINE_AIRCRAFT, getBasedSingleEngineAircraft());
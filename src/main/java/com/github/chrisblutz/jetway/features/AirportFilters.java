@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.features;
+
+import com.github.chrisblutz.jetway.aixm.AIXMPath;
+import com.github.chrisblutz.jetway.aixm.Converters;
+import com.github.chrisblutz.jetway.aixm.IngestFilter;
+import com.github.chrisblutz.jetway.features.airports.FacilityType;
+import com.github.chrisblutz.jetway.features.airports.Ownership;
+import com.github.chrisblutz.jetway.features.positioning.GeoCoordinate;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * This class contains common {@link IngestFilter}s for
+ * {@link Airport}s.
+ * <p>
+ * Each filter reads the values it needs from the airport's AIXM
+ * data, so airports that are rejected are never converted.
+ *
+ * @author Christopher Lutz
+ */
+public final class AirportFilters {
+
+    private static final AIXMPath TYPE_PATH = AIXMPath.compile("Type");
+    private static final AIXMPath OWNERSHIP_TYPE_PATH = AIXMPath.compile("OwnershipType");
+    private static final AIXMPath PRIVATE_USE_PATH = AIXMPath.compile("PrivateUse");
+    private static final AIXMPath POSITION_PATH = AIXMPath.compile("ARP/ElevatedPoint/Position");
+
+    private AirportFilters() {
+
+    }
+
+    /**
+     * Retrieves a filter that keeps airports with
+     * one of the specified facility types.
+     *
+     * @param types the facility types to keep
+     * @return The resulting filter
+     */
+    public static IngestFilter<Airport> facilityTypes(FacilityType... types) {
+
+        Set<FacilityType> kept = EnumSet.noneOf(FacilityType.class);
+        kept.addAll(Arrays.asList(types));
+
+        return IngestFilter.beforeConversion(
+                (type, feature) -> kept.contains(feature.get(TYPE_PATH, Converters.forEnum(FacilityType.class))),
+                airport -> kept.contains(airport.getFacilityType()));
+    }
+
+    /**
+     * Retrieves a filter that keeps airports with
+     * one of the specified ownership types.
+     *
+     * @param ownerships the ownership types to keep
+     * @return The resulting filter
+     */
+    public static IngestFilter<Airport> ownership(Ownership... ownerships) {
+
+        Set<Ownership> kept = EnumSet.noneOf(Ownership.class);
+        kept.addAll(Arrays.asList(ownerships));
+
+        return IngestFilter.beforeConversion(
+                (type, feature) -> kept.contains(feature.extension().get(OWNERSHIP_TYPE_PATH, Converters.forEnum(Ownership.class))),
+                airport -> kept.contains(airport.getOwnership()));
+    }
+
+    /**
+     * Retrieves a filter that keeps airports that
+     * are open to the public.
+     *
+     * @return The resulting filter
+     */
+    public static IngestFilter<Airport> publicUse() {
+
+        return IngestFilter.beforeConversion(
+                (type, feature) -> !feature.getBoolean(PRIVATE_USE_PATH),
+                Airport::isPublic);
+    }
+
+    /**
+     * Retrieves a filter that keeps airports whose reference
+     * points are within the specified bounding box (inclusive).
+     * The box may not cross the antimeridian.
+     *
+     * @param minLatitude  the southern edge of the box (degrees)
+     * @param minLongitude the western edge of the box (degrees)
+     * @param maxLatitude  the northern edge of the box (degrees)
+     * @param maxLongitude the eastern edge of the box (degrees)
+     * @return The resulting filter
+     */
+    public static IngestFilter<Airport> within(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+        return IngestFilter.beforeConversion(
+                (type, feature) -> isWithin(feature.get(POSITION_PATH, Converters.GEO_COORDINATE_CONVERTER), minLatitude, minLongitude, maxLatitude, maxLongitude),
+                airport -> isWithin(airport.getGeographicPosition(), minLatitude, minLongitude, maxLatitude, maxLongitude));
+    }
+
+    private static boolean isWithin(GeoCoordinate position, double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+        return position != null
+                && position.getLatitude() >= minLatitude && position.getLatitude() <= maxLatitude
+                && position.getLongitude() >= minLongitude && position.getLongitude() <= maxLongitude;
+    }
+}
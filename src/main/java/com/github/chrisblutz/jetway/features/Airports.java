@@ -16,14 +16,15 @@
 
 package com.github.chrisblutz.jetway.features;
 
+import com.github.chrisblutz.jetway.Dataset;
 import com.github.chrisblutz.jetway.Jetway;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is the container class for persistent airport data.
@@ -32,36 +33,12 @@ import java.util.UUID;
  */
 public final class Airports {
 
-    private static Map<String, UUID> nameMappings = new HashMap<>();
-    private static Map<String, UUID> designatorMappings = new HashMap<>();
-    private static Map<String, UUID> identifierMappings = new HashMap<>();
-
     private static Logger logger = null;
 
     private Airports() {
 
     }
 
-    /**
-     * Registers persistent data for an {@link Airport} instance.  This does
-     * not indicate that the specific {@link Airport} instance is currently loaded.
-     *
-     * @param key        the {@link UUID} key of the airport
-     * @param name       the name of the airport
-     * @param designator the IATA designator for the airport
-     * @param identifier the ICAO identifier for the airport
-     */
-    public static void register(UUID key, String name, String designator, String identifier) {
-
-        nameMappings.put(name, key);
-        designatorMappings.put(designator, key);
-
-        if (!identifier.isEmpty()) {
-
-            identifierMappings.put(identifier, key);
-        }
-    }
-
     /**
      * Retrieves a set of all cached airport names
      *
@@ -69,7 +46,7 @@ public final class Airports {
      */
     public static Set<String> allNames() {
 
-        return nameMappings.keySet();
+        return Jetway.getDataset().getAirportRegistry().nameMappings.keySet();
     }
 
     /**
@@ -81,7 +58,9 @@ public final class Airports {
     public static Airport forName(String name) {
 
         getLogger().debug("Requesting airport for name: " + name);
-        return forUUID(nameMappings.get(name));
+
+        Dataset dataset = Jetway.getDataset();
+        return forUUID(dataset, dataset.getAirportRegistry().nameMappings.get(name));
     }
 
     /**
@@ -91,7 +70,7 @@ public final class Airports {
      */
     public static Set<String> allIATADesignators() {
 
-        return designatorMappings.keySet();
+        return Jetway.getDataset().getAirportRegistry().designatorMappings.keySet();
     }
 
     /**
@@ -104,7 +83,9 @@ public final class Airports {
     public static Airport forIATADesignator(String designator) {
 
         getLogger().debug("Requesting airport for IATA designator: " + designator);
-        return forUUID(designatorMappings.get(designator));
+
+        Dataset dataset = Jetway.getDataset();
+        return forUUID(dataset, dataset.getAirportRegistry().designatorMappings.get(designator));
     }
 
     /**
@@ -114,7 +95,7 @@ public final class Airports {
      */
     public static Set<String> allICAOIdentifiers() {
 
-        return identifierMappings.keySet();
+        return Jetway.getDataset().getAirportRegistry().identifierMappings.keySet();
     }
 
     /**
@@ -127,13 +108,16 @@ public final class Airports {
     public static Airport forICAOIdentifier(String identifier) {
 
         getLogger().debug("Requesting airport for ICAO identifier: " + identifier);
-        return forUUID(identifierMappings.get(identifier));
+
+        Dataset dataset = Jetway.getDataset();
+        return forUUID(dataset, dataset.getAirportRegistry().identifierMappings.get(identifier));
     }
 
-    private static Airport forUUID(UUID uuid) {
+    private static Airport forUUID(Dataset dataset, UUID uuid) {
 
+        // The key and the airport are read from the same dataset, even if another is swapped in between
         getLogger().debug("Retrieving airport for UUID " + uuid.toString());
-        return Jetway.getAirportCache().get(uuid);
+        return dataset.getAirportCache().get(uuid);
     }
 
     private static Logger getLogger() {
@@ -145,4 +129,67 @@ public final class Airports {
 
         return logger;
     }
+
+    /**
+     * This class holds the persistent airport data registered by the
+     * airport cache of a single {@link Dataset}.
+     *
+     * @author Christopher Lutz
+     */
+    public static final class Registry {
+
+        private Map<String, UUID> nameMappings = new ConcurrentHashMap<>();
+        private Map<String, UUID> designatorMappings = new ConcurrentHashMap<>();
+        private Map<String, UUID> identifierMappings = new ConcurrentHashMap<>();
+        private Map<UUID, String[]> keyMappings = new ConcurrentHashMap<>();
+
+        /**
+         * Registers persistent data for an {@link Airport} instance.  This does
+         * not indicate that the specific {@link Airport} instance is currently loaded.
+         *
+         * @param key        the {@link UUID} key of the airport
+         * @param name       the name of the airport
+         * @param designator the IATA designator for the airport
+         * @param identifier the ICAO identifier for the airport
+         */
+        public void register(UUID key, String name, String designator, String identifier) {
+
+            String[] previous = keyMappings.put(key, new String[]{name, designator, identifier});
+            if (previous != null) {
+
+                removeMappings(key, previous);
+            }
+
+            nameMappings.put(name, key);
+            designatorMappings.put(designator, key);
+
+            if (!identifier.isEmpty()) {
+
+                identifierMappings.put(identifier, key);
+            }
+        }
+
+        /**
+         * Removes all persistent data registered for the {@link Airport}
+         * instance with the specified key.
+         *
+         * @param key the {@link UUID} key of the airport
+         */
+        public void unregister(UUID key) {
+
+            String[] mappings = keyMappings.remove(key);
+            if (mappings != null) {
+
+                removeMappings(key, mappings);
+            }
+        }
+
+        private void removeMappings(UUID key, String[] mappings) {
+
+            // Only removed if still mapped to this key, since another airport may have taken them over
+            nameMappings.remove(mappings[0], key);
+            designatorMappings.remove(mappings[1], key);
+            identifierMappings.remove(mappings[2], key);
+        }
+    }
 }
@@ -17,8 +17,10 @@
 package com.github.chrisblutz.jetway.features;
 
 import com.github.chrisblutz.jetway.aixm.AIXMAssignable;
+import com.github.chrisblutz.jetway.aixm.AIXMAttribute;
 import com.github.chrisblutz.jetway.aixm.AIXMFeature;
 import com.github.chrisblutz.jetway.aixm.AIXMType;
+import com.github.chrisblutz.jetway.caching.Cache;
 import com.github.chrisblutz.jetway.caching.CacheEntry;
 import com.github.chrisblutz.jetway.caching.Cacheable;
 import com.github.chrisblutz.jetway.caching.features.RunwayCacheUtils;
@@ -32,8 +34,12 @@ import java.util.UUID;
  */
 public class Runway implements AIXMAssignable<RunwayEnd>, Cacheable {
 
-    private String designator;
-    private double length, width;
+    @AIXMAttribute("Designator")
+    String designator;
+    @AIXMAttribute("LengthStrip")
+    double length;
+    @AIXMAttribute("WidthStrip")
+    double width;
 
     private RunwayEnd baseEnd = null, reciprocalEnd = null;
 
@@ -81,21 +87,26 @@ public class Runway implements AIXMAssignable<RunwayEnd>, Cacheable {
     }
 
     /**
-     * Assigns a loaded {@link RunwayEnd}to this airport.
+     * Assigns a loaded {@link RunwayEnd} to this runway, replacing
+     * any end previously assigned to the same end of the runway.
      *
      * @param uuid  the {@link UUID} key
      * @param value the {@link RunwayEnd} object
+     * @param cache the cache that the {@link RunwayEnd} is stored in,
+     *              which is always {@code null} since runway ends are
+     *              stored in their runway
      */
     @Override
-    public void assign(UUID uuid, RunwayEnd value) {
+    public void assign(UUID uuid, RunwayEnd value, Cache<UUID, RunwayEnd> cache) {
 
-        if (baseEnd == null) {
+        // Ends may be assigned in either order, so they are placed by type
+        if (value.reciprocal) {
 
-            baseEnd = value;
+            reciprocalEnd = value;
 
         } else {
 
-            reciprocalEnd = value;
+            baseEnd = value;
         }
     }
 
@@ -110,9 +121,19 @@ public class Runway implements AIXMAssignable<RunwayEnd>, Cacheable {
     @Override
     public void loadFromAIXM(AIXMType type, AIXMFeature feature) {
 
-        designator = feature.getString("Designator");
-        length = feature.getDouble("LengthStrip");
-        width = feature.getDouble("WidthStrip");
+        RunwayAIXMMapper.load(this, type, feature);
+    }
+
+    /**
+     * Retrieves the identity of this runway, which is its designator.
+     * Designators are unique among the runways of a single airport.
+     *
+     * @return The designator of this runway
+     */
+    @Override
+    public String getAIXMIdentity() {
+
+        return getDesignator();
     }
 
     /**
@@ -124,8 +145,8 @@ public class Runway implements AIXMAssignable<RunwayEnd>, Cacheable {
     public void loadFromCache(CacheEntry entry) {
 
         designator = entry.get(RunwayCacheUtils.DESIGNATOR);
-        length = entry.getDouble(RunwayCacheUtils.LENGTH);
-        width = entry.getDouble(RunwayCacheUtils.WIDTH);
+        length = entry.getDouble(RunwayCacheUtils.LENGTH, 0);
+        width = entry.getDouble(RunwayCacheUtils.WIDTH, 0);
 
         boolean hasBase = entry.getBoolean(RunwayCacheUtils.HAS_BASE_END);
         if (hasBase) {
@@ -137,6 +158,7 @@ public class Runway implements AIXMAssignable<RunwayEnd>, Cacheable {
         if (hasReciprocal) {
 
             reciprocalEnd = RunwayEnd.loadRunwayEndFromCache(RunwayCacheUtils.RECIPROCAL_END_PREFIX, entry);
+            reciprocalEnd.reciprocal = true;
         }
     }
 
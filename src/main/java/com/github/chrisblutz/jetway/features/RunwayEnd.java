@@ -16,6 +16,7 @@
 
 package com.github.chrisblutz.jetway.features;
 
+import com.github.chrisblutz.jetway.aixm.AIXMAttribute;
 import com.github.chrisblutz.jetway.aixm.AIXMFeature;
 import com.github.chrisblutz.jetway.aixm.AIXMLoadable;
 import com.github.chrisblutz.jetway.aixm.AIXMType;
@@ -32,8 +33,12 @@ import com.github.chrisblutz.jetway.features.positioning.GeoCoordinate;
  */
 public class RunwayEnd implements AIXMLoadable, CacheAppendable {
 
-    private String designator;
-    private GeoCoordinate geoPosition;
+    @AIXMAttribute(value = "Designator", types = {"Runway[id=RWY_BASE_END]", "Runway[id=RWY_RECIPROCAL_END]"})
+    String designator;
+    @AIXMAttribute(value = "ElevatedPoint/Position", extension = true, optional = true, types = "RunwayDirection")
+    GeoCoordinate geoPosition;
+
+    boolean reciprocal = false;
 
     /**
      * Loads a {@code RunwayEnd} instance based on the specified {@link CacheEntry}.
@@ -82,14 +87,12 @@ public class RunwayEnd implements AIXMLoadable, CacheAppendable {
     @Override
     public void loadFromAIXM(AIXMType type, AIXMFeature feature) {
 
-        if (type == Types.RUNWAY_BASE_END_TYPE || type == Types.RUNWAY_RECIPROCAL_END_TYPE) {
-
-            designator = feature.getString("Designator");
+        if (Types.RUNWAY_RECIPROCAL_END_TYPE.equals(type)) {
 
-        } else if (type == Types.RUNWAY_DIRECTION_TYPE) {
-
-            geoPosition = feature.extension(true).checkedCrawl("ElevatedPoint").getGeographicCoordinate("Position");
+            reciprocal = true;
         }
+
+        RunwayEndAIXMMapper.load(this, type, feature);
     }
 
     /**
@@ -16,9 +16,12 @@
 
 package com.github.chrisblutz.jetway.features;
 
-import java.util.HashMap;
+import com.github.chrisblutz.jetway.Dataset;
+import com.github.chrisblutz.jetway.Jetway;
+
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is the container for persistent runway data.
@@ -27,32 +30,61 @@ import java.util.UUID;
  */
 public final class Runways {
 
-    private static Map<UUID, String> designatorMappings = new HashMap<>();
-
     private Runways() {
 
     }
 
     /**
-     * Registers a runway identifier for a {@link UUID} key.
+     * Retrieves the designator for the {@link Runway} with the
+     * specified {@link UUID} key.
      *
-     * @param key        the {@link UUID} key for the {@link Runway}
-     * @param designator the runway designator
+     * @param uuid the {@link UUID} key of the runway
+     * @return The designator of the indicated runway
      */
-    public static void registerDesignator(UUID key, String designator) {
+    public static String getDesignatorForUUID(UUID uuid) {
 
-        designatorMappings.put(key, designator);
+        return Jetway.getDataset().getRunwayRegistry().getDesignator(uuid);
     }
 
     /**
-     * Retrieves the designator for the {@link Runway} with the
-     * specified {@link UUID} key.
+     * This class holds the persistent runway data registered by the
+     * runway cache of a single {@link Dataset}.
      *
-     * @param uuid the {@link UUID} key of the runway
-     * @return The designator of the indicated runway
+     * @author Christopher Lutz
      */
-    public static String getDesignatorForUUID(UUID uuid) {
+    public static final class Registry {
+
+        private Map<UUID, String> designatorMappings = new ConcurrentHashMap<>();
+
+        /**
+         * Registers a runway identifier for a {@link UUID} key.
+         * Runways without a designator are not registered.
+         *
+         * @param key        the {@link UUID} key for the {@link Runway}
+         * @param designator the runway designator, or {@code null}
+         *                   if the runway has none
+         */
+        public void registerDesignator(UUID key, String designator) {
+
+            if (designator != null && !designator.isEmpty()) {
+
+                designatorMappings.put(key, designator);
+            }
+        }
+
+        String getDesignator(UUID key) {
+
+            return designatorMappings.get(key);
+        }
+
+        /**
+         * Removes the runway identifier registered for a {@link UUID} key.
+         *
+         * @param key the {@link UUID} key for the {@link Runway}
+         */
+        public void unregisterDesignator(UUID key) {
 
-        return designatorMappings.get(uuid);
+            designatorMappings.remove(key);
+        }
     }
 }
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import com.github.chrisblutz.jetway.caching.Cache;
+import com.github.chrisblutz.jetway.caching.CacheConverter;
+import com.github.chrisblutz.jetway.caching.CacheEntry;
+import com.github.chrisblutz.jetway.caching.Cacheable;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AssociationLinkerTest {
+
+    private static final AIXMType RUNWAY_DIRECTION_TYPE = AIXMType.forIdentifier("RunwayDirection");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDocumentOrder() throws Exception {
+
+        String graph = link(createDocument());
+
+        assertTrue(graph.contains("Airport 1 [01/19 (01 at position 1/1/01, 19 at position 1/1/19), 02/20 (02 at position 1/2/02, 20 at position 1/2/20)]"));
+        assertFalse("Runways of rejected airports should not be cached", graph.contains("Airport 4"));
+    }
+
+    @Test
+    public void testReversedOrder() throws Exception {
+
+        List<Member> members = createDocument();
+        String expected = link(members);
+
+        Collections.reverse(members);
+        assertEquals(expected, link(members));
+    }
+
+    @Test
+    public void testShuffledOrder() throws Exception {
+
+        List<Member> members = createDocument();
+        String expected = link(members);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 5; i++) {
+
+            Collections.shuffle(members, random);
+            assertEquals(expected, link(members));
+        }
+    }
+
+    private static List<Member> createDocument() {
+
+        List<Member> members = new ArrayList<>();
+        for (int airport = 1; airport <= 4; airport++) {
+
+            // The last airport is rejected by its ingest filters
+            String airportId = "AH_" + airport;
+            members.add(new Member(airportId, null, "Airport " + airport, airport < 4, TestAirport::new));
+
+            for (int runway = 1; runway <= 2; runway++) {
+
+                String runwayId = "RWY_" + airport + "_" + runway;
+                String baseEnd = String.format("%02d", runway);
+                String reciprocalEnd = String.format("%02d", runway + 18);
+                members.add(new Member(runwayId, airportId, baseEnd + "/" + reciprocalEnd, true, TestRunway::new));
+
+                for (String end : Arrays.asList(baseEnd, reciprocalEnd)) {
+
+                    String endId = "RWY_END_" + airport + "_" + runway + "_" + end;
+                    members.add(new Member(endId, runwayId, end, true, TestRunwayEnd::new));
+                    members.add(new Member(null, endId, "position " + airport + "/" + runway + "/" + end, true, null));
+                }
+            }
+        }
+
+        return members;
+    }
+
+    private String link(List<Member> members) throws Exception {
+
+        File directory = folder.newFolder();
+        TestConverter airportConverter = new TestConverter(TestAirport::new);
+        Cache<UUID, TestFeature> airportCache = createCache(new File(directory, "airports"), airportConverter);
+        Cache<UUID, TestFeature> runwayCache = createCache(new File(directory, "runways"), new TestConverter(TestRunway::new));
+
+        Map<Class<? extends AIXMLoadable>, Cache> caches = new HashMap<>();
+        caches.put(TestAirport.class, airportCache);
+        caches.put(TestRunway.class, runwayCache);
+
+        AssociationLinker linker = new AssociationLinker(caches);
+        IngestMonitor monitor = new IngestMonitor(Collections.emptyList(), Arrays.asList(airportCache, runwayCache), 0);
+        try (CacheWriteQueue writeQueue = new CacheWriteQueue("test", 16, monitor)) {
+
+            // Members are flushed the same way the ingest pipeline flushes them
+            long index = 0;
+            for (Member member : members) {
+
+                if (member.factory == null) {
+
+                    linker.load(index++, RUNWAY_DIRECTION_TYPE, new AIXMFeature(member.name, "RunwayDirection"), member.parentId);
+
+                } else {
+
+                    if (member.parentId == null) {
+
+                        linker.flush(writeQueue, false);
+                    }
+
+                    TestFeature feature = member.factory.get();
+                    feature.name = member.name;
+                    linker.add(index++, member.id, feature, member.accepted, member.parentId);
+                }
+            }
+
+            // Once every feature has been added, nothing should be held back
+            linker.flush(writeQueue, false);
+            assertTrue(linker.isEmpty());
+
+            linker.flush(writeQueue, true);
+            writeQueue.finish();
+        }
+
+        airportCache.endBulkLoad();
+        runwayCache.endBulkLoad();
+        airportCache.emptyAll();
+        runwayCache.emptyAll();
+
+        return describe(airportCache, runwayCache, airportConverter.keys);
+    }
+
+    private static Cache<UUID, TestFeature> createCache(File directory, TestConverter converter) {
+
+        Cache<UUID, TestFeature> cache = new Cache<>(4, converter);
+        cache.setCacheDirectory(directory);
+        cache.initialize(false);
+        cache.beginBulkLoad();
+
+        return cache;
+    }
+
+    private static String describe(Cache<UUID, TestFeature> airportCache, Cache<UUID, TestFeature> runwayCache, Set<UUID> airportKeys) {
+
+        Set<String> airports = new TreeSet<>();
+        for (UUID airportKey : airportKeys) {
+
+            TestFeature airport = airportCache.get(airportKey);
+
+            Set<String> runways = new TreeSet<>();
+            for (UUID runwayKey : airport.links) {
+
+                TestFeature runway = runwayCache.get(runwayKey);
+
+                List<String> ends = new ArrayList<>();
+                for (TestFeature end : runway.parts.values()) {
+
+                    ends.add(end.name + " at " + end.position);
+                }
+
+                runways.add(runway.name + " " + ends.toString().replace('[', '(').replace(']', ')'));
+            }
+
+            airports.add(airport.name + " " + runways);
+        }
+
+        return airports.toString();
+    }
+
+    private static final class Member {
+
+        private String id;
+        private String parentId;
+        private String name;
+        private boolean accepted;
+        private Supplier<TestFeature> factory;
+
+        private Member(String id, String parentId, String name, boolean accepted, Supplier<TestFeature> factory) {
+
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.accepted = accepted;
+            this.factory = factory;
+        }
+    }
+
+    public static class TestFeature implements AIXMAssignable<TestFeature>, Cacheable {
+
+        private String name;
+        private String position = null;
+        private List<UUID> links = new ArrayList<>();
+        private Map<String, TestFeature> parts = new TreeMap<>();
+
+        @Override
+        public void assign(UUID uuid, TestFeature value, Cache<UUID, TestFeature> cache) {
+
+            // Cached features are linked, others are stored in this feature
+            if (cache != null) {
+
+                links.add(uuid);
+
+            } else {
+
+                parts.put(value.name, value);
+            }
+        }
+
+        @Override
+        public void loadFromAIXM(AIXMType type, AIXMFeature feature) {
+
+            position = feature.getString();
+        }
+
+        @Override
+        public void loadFromCache(CacheEntry entry) {
+
+            name = entry.get("name");
+
+            String linkList = entry.get("links");
+            if (linkList != null) {
+
+                for (String link : linkList.split(",")) {
+
+                    links.add(UUID.fromString(link));
+                }
+            }
+
+            int partCount = entry.getInteger("parts");
+            for (int i = 0; i < partCount; i++) {
+
+                TestFeature part = new TestRunwayEnd();
+                part.name = entry.get("part" + i + ".name");
+                part.position = entry.get("part" + i + ".position");
+                parts.put(part.name, part);
+            }
+        }
+
+        @Override
+        public void saveToCache(CacheEntry entry) {
+
+            entry.put("name", name);
+
+            StringBuilder linkList = new StringBuilder();
+            for (UUID link : links) {
+
+                linkList.append(linkList.length() > 0 ? "," : "").append(link);
+            }
+            entry.put("links", linkList.length() > 0 ? linkList.toString() : null);
+
+            int i = 0;
+            for (TestFeature part : parts.values()) {
+
+                entry.put("part" + i + ".name", part.name);
+                entry.put("part" + i + ".position", part.position);
+                i++;
+            }
+            entry.put("parts", i);
+        }
+    }
+
+    public static class TestAirport extends TestFeature {
+
+    }
+
+    public static class TestRunway extends TestFeature {
+
+    }
+
+    public static class TestRunwayEnd extends TestFeature {
+
+    }
+
+    private static final class TestConverter extends CacheConverter<UUID, TestFeature> {
+
+        private Supplier<TestFeature> factory;
+        private Set<UUID> keys = Collections.synchronizedSet(new TreeSet<>());
+
+        private TestConverter(Supplier<TestFeature> factory) {
+
+            this.factory = factory;
+        }
+
+        @Override
+        public TestFeature load(CacheEntry entry) {
+
+            TestFeature feature = factory.get();
+            feature.loadFromCache(entry);
+            return feature;
+        }
+
+        @Override
+        public void save(TestFeature object, CacheEntry entry) {
+
+            object.saveToCache(entry);
+        }
+
+        @Override
+        public UUID loadKey(String str) {
+
+            return UUID.fromString(str);
+        }
+
+        @Override
+        public String saveKey(UUID key) {
+
+            return key.toString();
+        }
+
+        @Override
+        public void loadPersistentData(UUID key, String data) {
+
+            keys.add(key);
+        }
+
+        @Override
+        public String savePersistentData(TestFeature value) {
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IngestFilterTest {
+
+    private static final AIXMType TYPE = AIXMType.forIdentifier("AirportHeliport");
+
+    @Test
+    public void testFilterAfterConversion() {
+
+        IngestFilter<TestFeature> filter = feature -> feature.value > 0;
+
+        // Filters that need converted features keep everything before conversion
+        assertTrue(filter.acceptAIXM(TYPE, createFeature(-1)));
+        assertTrue(filter.isConversionRequired());
+        assertFalse(filter.accept(new TestFeature(-1)));
+    }
+
+    @Test
+    public void testFilterBeforeConversion() {
+
+        IngestFilter<TestFeature> filter = IngestFilter.beforeConversion((type, feature) -> (int) feature.data > 0, feature -> feature.value > 0);
+
+        assertTrue(filter.acceptAIXM(TYPE, createFeature(1)));
+        assertFalse(filter.acceptAIXM(TYPE, createFeature(-1)));
+        assertFalse(filter.isConversionRequired());
+        assertTrue(filter.accept(new TestFeature(1)));
+        assertFalse(filter.accept(new TestFeature(-1)));
+    }
+
+    @Test
+    public void testCombinedFilters() {
+
+        IngestFilter<TestFeature> positive = IngestFilter.beforeConversion((type, feature) -> (int) feature.data > 0, feature -> feature.value > 0);
+        IngestFilter<TestFeature> even = feature -> feature.value % 2 == 0;
+
+        // Combined filters reject before conversion if either filter can
+        IngestFilter<TestFeature> combined = positive.and(even);
+        assertFalse(combined.acceptAIXM(TYPE, createFeature(-2)));
+        assertTrue(combined.acceptAIXM(TYPE, createFeature(3)));
+        assertTrue(combined.isConversionRequired());
+        assertFalse(combined.accept(new TestFeature(3)));
+        assertTrue(combined.accept(new TestFeature(4)));
+
+        IngestFilter<TestFeature> beforeConversion = positive.and(IngestFilter.beforeConversion((type, feature) -> (int) feature.data < 10, feature -> feature.value < 10));
+        assertFalse(beforeConversion.isConversionRequired());
+        assertFalse(beforeConversion.acceptAIXM(TYPE, createFeature(10)));
+        assertTrue(beforeConversion.acceptAIXM(TYPE, createFeature(5)));
+    }
+
+    private static AIXMFeature createFeature(int value) {
+
+        return new AIXMFeature(value, "AirportHeliport");
+    }
+
+    public static class TestFeature implements AIXMLoadable {
+
+        private int value;
+
+        public TestFeature() {
+
+        }
+
+        private TestFeature(int value) {
+
+            this.value = value;
+        }
+
+        @Override
+        public void loadFromAIXM(AIXMType type, AIXMFeature feature) {
+
+            value = (int) feature.data;
+        }
+    }
+}
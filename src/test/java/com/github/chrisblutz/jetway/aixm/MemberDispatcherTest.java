@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm;
+
+import gov.faa.aixm51.SubscriberFileComponentPropertyType;
+import org.apache.xmlbeans.XmlException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class MemberDispatcherTest {
+
+    private static final AIXMType AIRPORT_TYPE = AIXMType.forIdentifier("AirportHeliport");
+    private static final AIXMType RUNWAY_TYPE = AIXMType.forIdentifier("Runway[id=RWY]");
+    private static final AIXMType RUNWAY_BASE_END_TYPE = AIXMType.forIdentifier("Runway[id=RWY_BASE_END]");
+
+    @Test
+    public void testResolveByIdPrefix() throws XmlException {
+
+        MemberDispatcher dispatcher = createDispatcher();
+
+        MemberDispatcher.ResolvedMember runway = dispatcher.resolve(parseMember("Runway", "RWY_1_1"));
+        assertNotNull(runway);
+        assertEquals(RUNWAY_TYPE, runway.getType());
+        assertEquals("RWY_1_1", runway.getId());
+
+        MemberDispatcher.ResolvedMember baseEnd = dispatcher.resolve(parseMember("Runway", "RWY_BASE_END_1_1"));
+        assertNotNull(baseEnd);
+        assertEquals(RUNWAY_BASE_END_TYPE, baseEnd.getType());
+    }
+
+    @Test
+    public void testResolveMemberWithoutId() throws XmlException {
+
+        MemberDispatcher dispatcher = createDispatcher();
+
+        // Only types registered without an ID prefix can match a member without an ID
+        MemberDispatcher.ResolvedMember airport = dispatcher.resolve(parseMember("AirportHeliport", null));
+        assertNotNull(airport);
+        assertEquals(AIRPORT_TYPE, airport.getType());
+        assertNull(airport.getId());
+
+        assertNull(dispatcher.resolve(parseMember("Runway", null)));
+    }
+
+    @Test
+    public void testResolveUnregisteredFeature() throws XmlException {
+
+        assertNull(createDispatcher().resolve(parseMember("RunwayDirection", "RWY_DIRECTION_1")));
+    }
+
+    private static MemberDispatcher createDispatcher() {
+
+        MemberDispatcher dispatcher = new MemberDispatcher();
+        dispatcher.register(AIRPORT_TYPE);
+        dispatcher.register(RUNWAY_TYPE);
+        dispatcher.register(RUNWAY_BASE_END_TYPE);
+
+        return dispatcher;
+    }
+
+    private static SubscriberFileComponentPropertyType parseMember(String feature, String id) throws XmlException {
+
+        String idAttribute = id == null ? "" : " gml:id=\"" + id + "\"";
+        String xml = "<Member xmlns=\"http://www.faa.gov/aixm5.1\" xmlns:aixm=\"http://www.aixm.aero/schema/5.1\" xmlns:gml=\"http://www.opengis.net/gml/3.2\">"
+                + "<aixm:" + feature + idAttribute + ">"
+                + "<aixm:timeSlice><aixm:" + feature + "TimeSlice gml:id=\"TS\"/></aixm:timeSlice>"
+                + "</aixm:" + feature + ">"
+                + "</Member>";
+
+        return SubscriberFileComponentPropertyType.Factory.parse(xml);
+    }
+}
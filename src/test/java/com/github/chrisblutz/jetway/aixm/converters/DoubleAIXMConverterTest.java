@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.converters;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DoubleAIXMConverterTest {
+
+    @Test
+    public void testSignsAndLeadingZeros() {
+
+        assertParsed("1", "+1", "-1", "007.5", "-007.50", "+0000.125", "00000000000000000000001.5", "-.5", "+.25");
+    }
+
+    @Test
+    public void testMantissaDigits() {
+
+        // Up to 15 significant digits are parsed directly, longer mantissas fall back to Double.parseDouble
+        assertParsed("123456789012345", "1234567890123456", "0.123456789012345", "0.1234567890123456");
+        assertParsed("999999999999999", "9999999999999999", "-12345678.9012345", "-12345678.90123456");
+        assertParsed("9007199254740993", "0.30000000000000004", "1000000000000000", "100000000000000.0000");
+    }
+
+    @Test
+    public void testExponents() {
+
+        // Powers of ten up to 1e22 are exact, so 1e23 is the first that cannot be used directly
+        assertParsed("1e22", "1e-22", "1e23", "1e-23", "1E+22", "1E-23");
+        assertParsed("1.5e22", "-2.5E+23", "4.35e-23", "0.5e23", "123456789012345e22", "123456789012345e-22");
+        assertParsed("123456789012345e23", "123456789012345e-23", "12.5e-21", "1e0", "1e-0");
+    }
+
+    @Test
+    public void testPartialNumbers() {
+
+        assertParsed(".5", "5.", "-0", "-0.0", "0e5", "-0e-5", " 2.5 ");
+    }
+
+    private static void assertParsed(String... values) {
+
+        for (String value : values) {
+
+            // Compared by bits, so that the sign of zero is checked as well
+            double expected = Double.parseDouble(value);
+            double actual = DoubleAIXMConverter.parseDouble(value, 0, value.length());
+            assertEquals(value, Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+        }
+    }
+}
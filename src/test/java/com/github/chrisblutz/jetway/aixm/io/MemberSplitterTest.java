@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.aixm.io;
+
+import org.junit.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class MemberSplitterTest {
+
+    private static final String FAA_NAMESPACE = "http://www.faa.gov/aixm5.1";
+
+    @Test
+    public void testSplitMembers() throws IOException, XMLStreamException {
+
+        String first = "<Member><Feature id=\"1\"/></Member>";
+        String second = "<Member/>";
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<SubscriberFile xmlns=\"" + FAA_NAMESPACE + "\">\n"
+                + "  " + first + "\n"
+                + "  " + second + "\n"
+                + "</SubscriberFile>";
+
+        MemberSplitter splitter = new MemberSplitter(toStream(xml, Integer.MAX_VALUE));
+        assertEquals(Arrays.asList(first, second), split(splitter));
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?><SubscriberFile xmlns=\"" + FAA_NAMESPACE + "\">", new String(splitter.getProlog(), StandardCharsets.UTF_8));
+        assertEquals("</SubscriberFile>", new String(splitter.getEpilog(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testMembersInCommentsAndCDATA() throws IOException, XMLStreamException {
+
+        // Markup inside comments and CDATA sections is text, so it neither starts nor ends a member
+        String member = "<Member><Note><![CDATA[</Member><Member>]]]></Note><!-- </Member> --></Member>";
+        String xml = "<SubscriberFile xmlns=\"" + FAA_NAMESPACE + "\">"
+                + "<!-- <Member>Commented out</Member> -->"
+                + "<![CDATA[<Member>Not a member</Member>]]>"
+                + member
+                + "</SubscriberFile>";
+
+        assertEquals(Collections.singletonList(member), split(xml, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testPrefixedMembers() throws IOException, XMLStreamException {
+
+        String member = "<x:Member><x:Feature/></x:Member>";
+        String xml = "<x:SubscriberFile xmlns:x=\"" + FAA_NAMESPACE + "\">"
+                + member
+                + "<Member/>"
+                + "</x:SubscriberFile>";
+
+        assertEquals(Collections.singletonList(member), split(xml, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testMembersInOtherNamespaces() throws IOException, XMLStreamException {
+
+        // Elements named Member in other namespaces are not members
+        String member = "<faa:Member><Member/></faa:Member>";
+        String xml = "<SubscriberFile xmlns=\"http://www.example.com/other\" xmlns:faa=\"" + FAA_NAMESPACE + "\" xmlns:o=\"http://www.example.com/other\">"
+                + "<Member><faa:Member/></Member>"
+                + member
+                + "<o:Member/>"
+                + "</SubscriberFile>";
+
+        assertEquals(Collections.singletonList(member), split(xml, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testMultiByteCharactersAcrossReads() throws IOException, XMLStreamException {
+
+        List<String> members = Arrays.asList(
+                "<Member><Name>Z\u00fcrich</Name></Member>",
+                "<Member city=\"\u6771\u4eac\"><Name>T\u014dky\u014d \ud83d\udeeb</Name></Member>",
+                "<Member><Name>S\u00e3o Paulo\u2013Guarulhos</Name></Member>");
+        String xml = "<SubscriberFile xmlns=\"" + FAA_NAMESPACE + "\">" + String.join("\n", members) + "</SubscriberFile>";
+
+        // Every read ends at a different point, including inside multi-byte characters
+        for (int maxRead = 1; maxRead <= 7; maxRead++) {
+
+            assertEquals(members, split(xml, maxRead));
+        }
+    }
+
+    @Test
+    public void testMultiByteCharacterAcrossBuffers() throws IOException, XMLStreamException {
+
+        String start = "<SubscriberFile xmlns=\"" + FAA_NAMESPACE + "\"><Member><Name>";
+        StringBuilder padding = new StringBuilder();
+        while (start.length() + padding.length() < 65535) {
+
+            padding.append('x');
+        }
+
+        // The three bytes of the character span the end of the splitter's first buffer
+        String member = "<Member><Name>" + padding + "\u6771</Name></Member>";
+        String xml = start.substring(0, start.length() - "<Member><Name>".length()) + member + "</SubscriberFile>";
+
+        assertEquals(Collections.singletonList(member), split(xml, Integer.MAX_VALUE));
+    }
+
+    private static List<String> split(String xml, int maxRead) throws IOException, XMLStreamException {
+
+        return split(new MemberSplitter(toStream(xml, maxRead)));
+    }
+
+    private static List<String> split(MemberSplitter splitter) throws IOException, XMLStreamException {
+
+        List<String> members = new ArrayList<>();
+        MemberSplitter.Bytes out = new MemberSplitter.Bytes(64);
+        while (splitter.next(out)) {
+
+            members.add(new String(out.toArray(), StandardCharsets.UTF_8));
+            out.clear();
+        }
+
+        return members;
+    }
+
+    private static InputStream toStream(String xml, int maxRead) {
+
+        // Returns at most the specified number of bytes from each read
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)) {
+
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+
+                return super.read(b, off, Math.min(len, maxRead));
+            }
+        };
+    }
+}
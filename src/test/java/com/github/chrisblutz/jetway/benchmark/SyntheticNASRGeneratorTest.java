@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.benchmark;
+
+import com.github.chrisblutz.jetway.aixm.io.SubscriberFileReader;
+import gov.faa.aixm51.SubscriberFileComponentPropertyType;
+import org.apache.xmlbeans.XmlError;
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlOptions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SyntheticNASRGeneratorTest {
+
+    private static final String APT_ZIP = "Additional_Data/AIXM/AIXM_5.1/XML-Subscriber-Files/APT_AIXM.zip";
+    private static final String APT_XML = "APT_AIXM.xml";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMembersAreSchemaValid() throws IOException, XMLStreamException, XmlException {
+
+        SyntheticNASRGenerator generator = new SyntheticNASRGenerator(40, 2);
+        File file = folder.newFile("nasr.zip");
+        generator.generate(file);
+
+        long members = 0;
+        try (ZipFile nasrZip = new ZipFile(file);
+             ZipInputStream aptZip = new ZipInputStream(nasrZip.getInputStream(nasrZip.getEntry(APT_ZIP)))) {
+
+            ZipEntry entry = aptZip.getNextEntry();
+            assertEquals(APT_XML, entry.getName());
+
+            try (SubscriberFileReader reader = new SubscriberFileReader(aptZip)) {
+
+                SubscriberFileComponentPropertyType member;
+                while ((member = reader.next()) != null) {
+
+                    List<XmlError> errors = new ArrayList<>();
+                    boolean valid = member.validate(new XmlOptions().setErrorListener(errors));
+                    assertTrue("Member " + members + " is not schema-valid: " + errors, valid);
+
+                    members++;
+                }
+            }
+        }
+
+        assertEquals(generator.getMemberCount(), members);
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.caching;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEvictionOrderWithinSegment() throws IOException {
+
+        // 16 segments of 2 values each.  These keys have the same hash
+        // code, so they are all held in the same segment.
+        TestConverter converter = new TestConverter();
+        Cache<String, TestValue> cache = createCache(32, converter);
+        cache.add("AaAa", new TestValue("AaAa"));
+        cache.add("AaBB", new TestValue("AaBB"));
+
+        // Accessing a value makes it the most recently used
+        cache.get("AaAa");
+        cache.add("BBAa", new TestValue("BBAa"));
+        cache.flushPendingWrites();
+
+        assertEquals("AaAa", cache.get("AaAa").name);
+        assertEquals("BBAa", cache.get("BBAa").name);
+        assertEquals(0, converter.loads.get());
+
+        assertEquals("AaBB", cache.get("AaBB").name);
+        assertEquals(1, converter.loads.get());
+    }
+
+    @Test
+    public void testCapacityPerSegment() throws IOException {
+
+        TestConverter converter = new TestConverter();
+        Cache<String, TestValue> cache = createCache(32, converter);
+        cache.add("AaAa", new TestValue("AaAa"));
+        cache.add("AaBB", new TestValue("AaBB"));
+
+        // Values in other segments do not take up this segment's space
+        for (int i = 0; i < 8; i++) {
+
+            cache.add("key" + i, new TestValue("key" + i));
+        }
+        cache.flushPendingWrites();
+
+        cache.get("AaAa");
+        cache.get("AaBB");
+        assertEquals(0, converter.loads.get());
+
+        // A third value in the segment evicts one, even though the cache is not full
+        cache.add("BBBB", new TestValue("BBBB"));
+        cache.flushPendingWrites();
+        cache.get("AaAa");
+        assertEquals(1, converter.loads.get());
+    }
+
+    @Test
+    public void testConcurrentMissesReadOnce() throws Exception {
+
+        TestConverter converter = new TestConverter();
+        Cache<String, TestValue> cache = createCache(8, converter);
+        cache.add("a", new TestValue("a"));
+        cache.emptyAll();
+
+        // The first thread to miss holds its read open while the others miss the same key
+        converter.loadGate = new CountDownLatch(1);
+        List<Future<TestValue>> results = getConcurrently(cache, "a", 8);
+        Thread.sleep(100);
+        converter.loadGate.countDown();
+
+        TestValue value = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<TestValue> result : results) {
+
+            assertSame(value, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, converter.loads.get());
+    }
+
+    @Test
+    public void testFailedLoadReleasesWaiters() throws Exception {
+
+        TestConverter converter = new TestConverter();
+        Cache<String, TestValue> cache = createCache(8, converter);
+        cache.add("a", new TestValue("a"));
+        cache.emptyAll();
+
+        converter.loadGate = new CountDownLatch(1);
+        converter.loadFailure = new IllegalStateException("Load failed.");
+        List<Future<TestValue>> results = getConcurrently(cache, "a", 8);
+        Thread.sleep(100);
+        converter.loadGate.countDown();
+
+        // Every thread must be released with the failure, rather than waiting forever
+        for (Future<TestValue> result : results) {
+
+            try {
+
+                result.get(5, TimeUnit.SECONDS);
+                fail("Expected the load to fail.");
+
+            } catch (ExecutionException e) {
+
+                assertTrue(e.getCause() instanceof CacheException);
+
+            } catch (TimeoutException e) {
+
+                fail("A thread waiting for the failed load was not released.");
+            }
+        }
+
+        // A failed load is not kept, so the key can be loaded again
+        converter.loadFailure = null;
+        assertEquals("a", cache.get("a").name);
+    }
+
+    @Test
+    public void testGetPendingWrite() throws IOException {
+
+        TestConverter converter = new TestConverter();
+        Cache<String, TestValue> cache = createCache(1, converter);
+
+        // Hold the background writer so the evicted value stays queued
+        converter.saveGate = new CountDownLatch(1);
+        TestValue value = new TestValue("a");
+        cache.add("a", value);
+        cache.add("b", new TestValue("b"));
+
+        try {
+
+            assertSame(value, cache.get("a"));
+            assertEquals(0, converter.loads.get());
+
+        } finally {
+
+            converter.saveGate.countDown();
+        }
+
+        cache.flushPendingWrites();
+    }
+
+    @Test
+    public void testCleanEvictionWritesNothing() throws IOException {
+
+        Cache<String, TestValue> cache = createCache(1, new TestConverter());
+        cache.add("a", new TestValue("original"));
+        cache.emptyAll();
+        assertEquals(1, cache.getWriteCount());
+
+        // Values read from their files are not written back, even if they were changed
+        cache.get("a").name = "changed";
+        cache.add("b", new TestValue("b"));
+        cache.flushPendingWrites();
+        assertEquals(1, cache.getWriteCount());
+
+        cache.forceUnload("b");
+        cache.flushPendingWrites();
+        assertEquals("original", cache.get("a").name);
+    }
+
+    @Test
+    public void testDirtyEvictionWritesValue() throws IOException {
+
+        Cache<String, TestValue> cache = createCache(1, new TestConverter());
+        cache.add("a", new TestValue("original"));
+        cache.emptyAll();
+
+        // Changed values are written once they are added again
+        TestValue value = cache.get("a");
+        value.name = "changed";
+        cache.add("a", value);
+        cache.add("b", new TestValue("b"));
+        cache.flushPendingWrites();
+        assertEquals(2, cache.getWriteCount());
+
+        cache.forceUnload("b");
+        cache.flushPendingWrites();
+        assertEquals("changed", cache.get("a").name);
+    }
+
+    private static List<Future<TestValue>> getConcurrently(Cache<String, TestValue> cache, String key, int threads) {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<TestValue>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+
+            results.add(executor.submit(() -> cache.get(key)));
+        }
+        executor.shutdown();
+
+        return results;
+    }
+
+    private Cache<String, TestValue> createCache(int size, TestConverter converter) throws IOException {
+
+        Cache<String, TestValue> cache = new Cache<>(size, converter);
+        cache.setCacheDirectory(folder.newFolder());
+        cache.initialize(false);
+
+        return cache;
+    }
+
+    private static final class TestValue {
+
+        private String name;
+
+        private TestValue(String name) {
+
+            this.name = name;
+        }
+    }
+
+    private static class TestConverter extends CacheConverter<String, TestValue> {
+
+        private AtomicInteger loads = new AtomicInteger();
+        private volatile CountDownLatch loadGate = null;
+        private volatile CountDownLatch saveGate = null;
+        private volatile RuntimeException loadFailure = null;
+
+        @Override
+        public TestValue load(CacheEntry entry) {
+
+            loads.incrementAndGet();
+            await(loadGate);
+
+            if (loadFailure != null) {
+
+                throw loadFailure;
+            }
+
+            return new TestValue(entry.get("name"));
+        }
+
+        @Override
+        public void save(TestValue object, CacheEntry entry) {
+
+            await(saveGate);
+            entry.put("name", object.name);
+        }
+
+        private static void await(CountDownLatch gate) {
+
+            try {
+
+                if (gate != null && !gate.await(5, TimeUnit.SECONDS)) {
+
+                    throw new IllegalStateException("Timed out waiting for the test.");
+                }
+
+            } catch (InterruptedException e) {
+
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public String loadKey(String str) {
+
+            return str;
+        }
+
+        @Override
+        public String saveKey(String key) {
+
+            return key;
+        }
+
+        @Override
+        public void loadPersistentData(String key, String data) {
+
+        }
+
+        @Override
+        public String savePersistentData(TestValue value) {
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 Christopher Lutz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.chrisblutz.jetway.features;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RunwaysTest {
+
+    @Test
+    public void testRegisterDesignator() {
+
+        Runways.Registry registry = new Runways.Registry();
+        UUID key = UUID.randomUUID();
+
+        registry.registerDesignator(key, "09/27");
+        assertEquals("09/27", registry.getDesignator(key));
+
+        registry.unregisterDesignator(key);
+        assertNull(registry.getDesignator(key));
+    }
+
+    @Test
+    public void testRegisterRunwayWithoutDesignator() {
+
+        // Caches pass null persistent data for runways without a designator
+        Runways.Registry registry = new Runways.Registry();
+        UUID key = UUID.randomUUID();
+        UUID emptyKey = UUID.randomUUID();
+
+        registry.registerDesignator(key, null);
+        registry.registerDesignator(emptyKey, "");
+
+        assertNull(registry.getDesignator(key));
+        assertNull(registry.getDesignator(emptyKey));
+
+        registry.unregisterDesignator(key);
+    }
+}